@@ -0,0 +1,88 @@
+package de.fh.albsig.benchmarks;
+
+import de.fh.albsig.database.Aggregate;
+import de.fh.albsig.database.DataAccessLog;
+import de.fh.albsig.database.SqliteHelperMain;
+import de.fh.albsig.database.SqliteProfile;
+import de.fh.albsig.database.StorageMode;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates and removes the throwaway database the benchmarks run against.
+ */
+final class BenchmarkDatabase {
+
+    /** Database file used by all benchmarks, removed after each trial. */
+    static final String FILE = "benchmark_database.db";
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Opens a fresh database with the given profile and fills the
+     * {@code Aggregate} table.
+     *
+     * @param profile the name of a {@link SqliteProfile} constant
+     * @param rows the number of generators to insert
+     */
+    static void open(String profile, int rows) {
+        delete();
+        DataAccessLog.configure(DataAccessLog.Mode.COUNTERS, 1);
+        SqliteHelperMain.configureStorage(StorageMode.FILE, FILE);
+        SqliteHelperMain.configureProfile(profile(profile));
+        SqliteHelperMain.initializeDatabase();
+        SqliteHelperMain.insertBatch(Aggregate.TABLE, Aggregate.COLUMNS, rows(0, rows));
+    }
+
+    /**
+     * Closes the database and removes its files.
+     */
+    static void close() {
+        SqliteHelperMain.shutdown();
+        delete();
+    }
+
+    /**
+     * Builds generator rows with distinct names.
+     *
+     * @param first the index of the first row
+     * @param count the number of rows
+     * @return the rows, matching {@link Aggregate#COLUMNS}
+     */
+    static List<Object[]> rows(int first, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = first; i < first + count; i++) {
+            rows.add(new Object[]{name(i), 100.0 + i % 400, 5.0 + i % 20, 20.0 + i % 200});
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the name of the generator with the given index.
+     *
+     * @param index the row index
+     * @return the generator name
+     */
+    static String name(int index) {
+        return "Gen " + index;
+    }
+
+    private static SqliteProfile profile(String name) {
+        return switch (name) {
+            case "TUNED" -> SqliteProfile.TUNED;
+            case "DRIVER_DEFAULTS" -> SqliteProfile.DRIVER_DEFAULTS;
+            default -> throw new IllegalArgumentException("Unknown profile: " + name);
+        };
+    }
+
+    private static void delete() {
+        for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+            File file = new File(FILE + suffix);
+            if (file.exists() && !file.delete()) {
+                System.err.println("Benchmark file could not be deleted: " + file);
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package de.fh.albsig.benchmarks;
+
+import de.fh.albsig.SpeakerDelayCalcController;
+import de.fh.albsig.cablecrosssection.CableCrossSectionCalculatorLogic;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Single calls of the cable and speaker delay calculations.
+ *
+ * <p>Inputs are drawn from pre-generated random arrays so the JIT cannot fold
+ * the calculations into constants. Run with {@code -prof gc} to see the
+ * allocation rate, see {@link CalculatorBenchmarkRunner}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculatorBenchmark {
+
+    /** Number of pre-generated inputs; a power of two for cheap wrapping. */
+    static final int INPUTS = 1 << 12;
+
+    private final CableCrossSectionCalculatorLogic logic = new CableCrossSectionCalculatorLogic();
+    private final SpeakerDelayCalcController speakerDelay = new SpeakerDelayCalcController();
+
+    private double[] lengths;
+    private double[] currents;
+    private double[] crossSections;
+    private double[] distances;
+    private int index;
+
+    /**
+     * Generates the random inputs.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        lengths = new double[INPUTS];
+        currents = new double[INPUTS];
+        crossSections = new double[INPUTS];
+        distances = new double[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            lengths[i] = 1 + random.nextDouble() * 200;
+            currents[i] = 1 + random.nextDouble() * 63;
+            crossSections[i] = random.nextDouble() * 20;
+            distances[i] = random.nextDouble() * 10_000;
+        }
+    }
+
+    private int next() {
+        index = (index + 1) & (INPUTS - 1);
+        return index;
+    }
+
+    /**
+     * Three-phase cross-section for one input.
+     *
+     * @return the cross-section in mm²
+     */
+    @Benchmark
+    public double threePhaseCrossSection() {
+        int i = next();
+        return logic.computeThreePhaseCrossSection(lengths[i], currents[i], 400, 0.9, 56, 5);
+    }
+
+    /**
+     * Single-phase cross-section for one input.
+     *
+     * @return the cross-section in mm²
+     */
+    @Benchmark
+    public double singlePhaseCrossSection() {
+        int i = next();
+        return logic.computeSinglePhaseCrossSection(lengths[i], currents[i], 0.9, 56, 5);
+    }
+
+    /**
+     * Power loss for one input.
+     *
+     * @return the power loss in watts
+     */
+    @Benchmark
+    public double powerLoss() {
+        int i = next();
+        return logic.computePowerLoss(lengths[i], currents[i], "Copper", 2.5);
+    }
+
+    /**
+     * Standard size recommendation for one input.
+     *
+     * @return the recommended size label
+     */
+    @Benchmark
+    public String recommendedWiring() {
+        return logic.getRecommendedStandardWiring(crossSections[next()]);
+    }
+
+    /**
+     * Parsing of a standard voltage label.
+     *
+     * @return the voltage
+     */
+    @Benchmark
+    public double parseStandardVoltage() {
+        return logic.parseStandardVoltage((next() & 1) == 0 ? "230V" : "400V");
+    }
+
+    /**
+     * Three-dimensional speaker delay, including the distance to delay conversion.
+     *
+     * @return the delay in milliseconds
+     */
+    @Benchmark
+    public double speakerDelayThreeDimensional() {
+        int i = next();
+        return speakerDelay.calculateThreeDimensional(distances[i], lengths[i], currents[i]);
+    }
+
+    /**
+     * One-dimensional speaker delay, which is only the distance to delay
+     * conversion.
+     *
+     * @return the delay in milliseconds
+     */
+    @Benchmark
+    public double speakerDelayOneDimensional() {
+        return speakerDelay.calculateOneDimensional(distances[next()]);
+    }
+
+    /**
+     * Sweeps over many inputs in one invocation, as a parameter study or a
+     * table fill would.
+     */
+    @State(Scope.Thread)
+    public static class Sweep {
+
+        /** Number of inputs per sweep. */
+        @Param({"1000", "100000"})
+        public int size;
+
+        double[] lengths;
+        double[] currents;
+        double[] distances;
+
+        /**
+         * Generates the random inputs.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(7);
+            lengths = new double[size];
+            currents = new double[size];
+            distances = new double[size];
+            for (int i = 0; i < size; i++) {
+                lengths[i] = 1 + random.nextDouble() * 200;
+                currents[i] = 1 + random.nextDouble() * 63;
+                distances[i] = random.nextDouble() * 10_000;
+            }
+        }
+    }
+
+    /**
+     * Cross-section, recommendation and power loss for every input of a sweep.
+     *
+     * @param sweep the sweep inputs
+     * @param blackhole consumes the results
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void cableSweep(Sweep sweep, Blackhole blackhole) {
+        for (int i = 0; i < sweep.size; i++) {
+            double crossSection = logic.computeSinglePhaseCrossSection(
+                    sweep.lengths[i], sweep.currents[i], 0.9, 56, 5);
+            blackhole.consume(logic.getRecommendedStandardWiring(crossSection));
+            blackhole.consume(logic.computePowerLoss(
+                    sweep.lengths[i], sweep.currents[i], "Copper", Math.max(crossSection, 1.5)));
+        }
+    }
+
+    /**
+     * Three-dimensional speaker delay for every input of a sweep.
+     *
+     * @param sweep the sweep inputs
+     * @return the sum of all delays
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double speakerDelaySweep(Sweep sweep) {
+        double sum = 0;
+        for (int i = 0; i < sweep.size; i++) {
+            sum += speakerDelay.calculateThreeDimensional(
+                    sweep.distances[i], sweep.lengths[i], sweep.currents[i]);
+        }
+        return sum;
+    }
+}
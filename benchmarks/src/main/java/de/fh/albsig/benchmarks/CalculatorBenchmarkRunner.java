@@ -0,0 +1,45 @@
+package de.fh.albsig.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs {@link CalculatorBenchmark} with the GC profiler and writes the results
+ * as JSON, so allocation rates and timings of two versions can be compared:
+ * <pre>
+ * java -cp target/benchmarks.jar de.fh.albsig.benchmarks.CalculatorBenchmarkRunner
+ * </pre>
+ * Further JMH options given on the command line are applied on top.
+ */
+public final class CalculatorBenchmarkRunner {
+
+    /** Default result file, relative to the working directory. */
+    static final String RESULT_FILE = "target/calculator-benchmarks.json";
+
+    private CalculatorBenchmarkRunner() {
+    }
+
+    /**
+     * Runs the calculator benchmarks.
+     *
+     * @param args additional JMH command line options
+     * @throws RunnerException if a benchmark fails
+     * @throws CommandLineOptionException if the options cannot be parsed
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(CalculatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE)
+                .build();
+        new Runner(options).run();
+    }
+}
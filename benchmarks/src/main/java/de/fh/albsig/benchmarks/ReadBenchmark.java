@@ -0,0 +1,161 @@
+package de.fh.albsig.benchmarks;
+
+import de.fh.albsig.database.Aggregate;
+import de.fh.albsig.database.SqlTemplates;
+import de.fh.albsig.database.SqliteHelperMain;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Selects through {@link SqliteHelperMain} against tables of different sizes.
+ *
+ * <p>Point lookups bind one, two or four parameters; the scans read every row
+ * either materialised with {@code select} or streamed with {@code selectEach}.
+ * Each is compared with an unpooled connection per call.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadBenchmark {
+
+    @Param({"TUNED", "DRIVER_DEFAULTS"})
+    public String profile;
+
+    @Param({"100", "10000"})
+    public int rows;
+
+    private int next;
+
+    /**
+     * Filter of the point lookups, kept separate so the scans do not run once
+     * per parameter count.
+     */
+    @State(Scope.Benchmark)
+    public static class Lookup {
+
+        /** Number of parameters bound by the lookup. */
+        @Param({"1", "2", "4"})
+        public int parameters;
+
+        private String whereClause;
+        private Object[] values;
+
+        /**
+         * Builds the where clause and its values.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            whereClause = switch (parameters) {
+                case 1 -> "name = ?";
+                case 2 -> "name = ? AND fuel_cap >= ?";
+                default -> "name = ? AND fuel_cap >= ? AND consumption >= ? AND power_output >= ?";
+            };
+            values = new Object[parameters];
+            for (int i = 1; i < parameters; i++) {
+                values[i] = 0.0;
+            }
+        }
+    }
+
+    /**
+     * Opens the database.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkDatabase.open(profile, rows);
+    }
+
+    /**
+     * Closes the database and removes its files.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.close();
+    }
+
+    /**
+     * Looks up one generator on a pooled connection.
+     *
+     * @param lookup the lookup filter
+     * @return the selected rows
+     */
+    @Benchmark
+    public Object[][] selectPooled(Lookup lookup) {
+        lookup.values[0] = BenchmarkDatabase.name(nextIndex());
+        return SqliteHelperMain.select(Aggregate.TABLE, Aggregate.COLUMNS,
+                lookup.whereClause, lookup.values);
+    }
+
+    /**
+     * Looks up one generator on a new connection.
+     *
+     * @param lookup the lookup filter
+     * @param blackhole consumes the selected values
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public void selectConnectionPerCall(Lookup lookup, Blackhole blackhole) throws SQLException {
+        Object[] values = lookup.values;
+        values[0] = BenchmarkDatabase.name(nextIndex());
+        try (Connection conn = SqliteHelperMain.connect();
+             PreparedStatement stmt = conn.prepareStatement(
+                     SqlTemplates.select(Aggregate.TABLE, Aggregate.COLUMNS, lookup.whereClause))) {
+            for (int i = 0; i < values.length; i++) {
+                stmt.setObject(i + 1, values[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    blackhole.consume(rs.getString(1));
+                    blackhole.consume(rs.getDouble(2));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the whole table into memory.
+     *
+     * @return the selected rows
+     */
+    @Benchmark
+    public Object[][] scanMaterialised() {
+        return SqliteHelperMain.select(Aggregate.TABLE, Aggregate.COLUMNS, null);
+    }
+
+    /**
+     * Reads the whole table row by row without collecting it.
+     *
+     * @param blackhole consumes the selected values
+     * @return the number of rows read
+     */
+    @Benchmark
+    public int scanStreamed(Blackhole blackhole) {
+        return SqliteHelperMain.selectEach(Aggregate.TABLE, Aggregate.COLUMNS, null,
+                row -> blackhole.consume(row.getDouble(1)));
+    }
+
+    private int nextIndex() {
+        next = (next + 7919) % rows;
+        return next;
+    }
+}
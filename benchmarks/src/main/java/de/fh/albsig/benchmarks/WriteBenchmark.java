@@ -0,0 +1,156 @@
+package de.fh.albsig.benchmarks;
+
+import de.fh.albsig.database.Aggregate;
+import de.fh.albsig.database.SqlTemplates;
+import de.fh.albsig.database.SqliteHelperMain;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Insert, update and delete through {@link SqliteHelperMain}.
+ *
+ * <p>Compares an unpooled connection per call with the pooled helpers and the
+ * batched inserts, each under the tuned WAL profile and the driver defaults.
+ * Updates are measured with one and three bound columns. Times are per
+ * written row.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WriteBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+    private static final int SEED_ROWS = 1_000;
+
+    @Param({"TUNED", "DRIVER_DEFAULTS"})
+    public String profile;
+
+    private Object[] values;
+    private List<Object[]> batch;
+
+    /**
+     * Update statement shape, kept separate so only the update benchmark runs
+     * once per column count.
+     */
+    @State(Scope.Benchmark)
+    public static class UpdateShape {
+
+        /** Number of columns set by the update. */
+        @Param({"1", "3"})
+        public int updatedColumns;
+
+        private String setClause;
+        private Object[] values;
+        private int nextId;
+
+        /**
+         * Builds the set clause and its values.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            if (updatedColumns == 1) {
+                setClause = "fuel_cap = ?";
+                values = new Object[]{150.0, 0};
+            } else {
+                setClause = "fuel_cap = ?, consumption = ?, power_output = ?";
+                values = new Object[]{150.0, 7.5, 60.0, 0};
+            }
+        }
+    }
+
+    /**
+     * Opens the database and prepares the rows to write.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkDatabase.open(profile, SEED_ROWS);
+        batch = BenchmarkDatabase.rows(SEED_ROWS, BATCH_SIZE);
+        values = batch.get(0);
+    }
+
+    /**
+     * Closes the database and removes its files.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.close();
+    }
+
+    /**
+     * Opens, uses and closes a new connection for every insert.
+     *
+     * @throws SQLException if the insert fails
+     */
+    @Benchmark
+    public int insertConnectionPerCall() throws SQLException {
+        try (Connection conn = SqliteHelperMain.connect();
+             PreparedStatement stmt = conn.prepareStatement(
+                     SqlTemplates.insert(Aggregate.TABLE, Aggregate.COLUMNS, values.length))) {
+            for (int i = 0; i < values.length; i++) {
+                stmt.setObject(i + 1, values[i]);
+            }
+            return stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Inserts one row on a pooled connection with a cached statement.
+     */
+    @Benchmark
+    public void insertPooled() {
+        SqliteHelperMain.insert(Aggregate.TABLE, Aggregate.COLUMNS, values);
+    }
+
+    /**
+     * Inserts {@value #BATCH_SIZE} rows in one transaction.
+     *
+     * @return the number of inserted rows
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int insertBatched() {
+        return SqliteHelperMain.insertBatch(Aggregate.TABLE, Aggregate.COLUMNS, batch);
+    }
+
+    /**
+     * Updates one or three columns of one row by primary key.
+     *
+     * @param shape the update statement shape
+     */
+    @Benchmark
+    public void updateById(UpdateShape shape) {
+        shape.nextId = shape.nextId % SEED_ROWS + 1;
+        shape.values[shape.values.length - 1] = shape.nextId;
+        SqliteHelperMain.update(Aggregate.TABLE, shape.setClause, "id = ?", shape.values);
+    }
+
+    /**
+     * Inserts a row and deletes it again by name, keeping the table size
+     * stable. Subtract {@link #insertPooled()} for the cost of the delete.
+     */
+    @Benchmark
+    public void insertThenDelete() {
+        SqliteHelperMain.insert(Aggregate.TABLE, Aggregate.COLUMNS, values);
+        SqliteHelperMain.delete(Aggregate.TABLE, "name = ?", values[0]);
+    }
+}
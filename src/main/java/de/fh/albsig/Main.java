@@ -1,5 +1,7 @@
 package de.fh.albsig;
 
+import de.fh.albsig.database.AsyncDatabase;
+import de.fh.albsig.database.SqliteHelperMain;
 import javafx.application.Application;
 import javafx.stage.Stage;
 import org.apache.logging.log4j.LogManager;
@@ -24,6 +26,16 @@ public class Main extends Application {
         }
     }
 
+    /**
+     * Releases application resources such as pooled database connections.
+     */
+    @Override
+    public void stop() {
+        LOGGER.info("Stopping JavaFX application.");
+        AsyncDatabase.shutdown();
+        SqliteHelperMain.shutdown();
+    }
+
     /**
      * Main method to launch the application.
      *
@@ -0,0 +1,23 @@
+package de.fh.albsig.cablecrosssection;
+
+/**
+ * Result of one calculator run.
+ *
+ * @param crossSection    The required cross-section in mm².
+ * @param current         The load current in A.
+ * @param powerLoss       The power loss in W.
+ * @param standardWiring  The recommended standard wiring.
+ */
+public record CableCalculation(double crossSection, double current, double powerLoss,
+                               String standardWiring) {
+
+    /**
+     * Returns the result as shown by the calculator.
+     *
+     * @return The result text.
+     */
+    public String summary() {
+        return String.format("Cross-section: %.2f mm², Standard Wiring: %s, Power Loss: %.2f W",
+                crossSection, standardWiring, powerLoss);
+    }
+}
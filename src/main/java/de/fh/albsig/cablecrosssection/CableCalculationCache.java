@@ -0,0 +1,272 @@
+package de.fh.albsig.cablecrosssection;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded memo cache in front of
+ * {@link CableCrossSectionCalculatorLogic#calculate}, so recalculating a
+ * feeder that was already entered returns the stored result.
+ *
+ * <p>The inputs are packed into one {@code long}: input value (21 bits),
+ * length (20 bits), voltage (17 bits), system type (2 bits), material
+ * (1 bit) and installation method (2 bits, 0 for none). Only whole,
+ * non-negative numbers that fit are cached, which covers everything the
+ * calculator's digit-only fields accept within range; other inputs are
+ * computed every time. Entries live in fixed primitive arrays with
+ * chained hash buckets and an index-linked LRU list, so a hit neither boxes
+ * the key nor allocates.</p>
+ */
+public class CableCalculationCache {
+
+    /** Default number of cached results. */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /** Key of inputs that cannot be packed. */
+    static final long NO_KEY = -1;
+
+    private static final int INPUT_BITS = 21;
+    private static final int LENGTH_BITS = 20;
+    private static final int VOLTAGE_BITS = 17;
+    private static final int SYSTEM_TYPE_BITS = 2;
+
+    private static final int LENGTH_SHIFT = INPUT_BITS;
+    private static final int VOLTAGE_SHIFT = LENGTH_SHIFT + LENGTH_BITS;
+    private static final int SYSTEM_TYPE_SHIFT = VOLTAGE_SHIFT + VOLTAGE_BITS;
+    private static final int MATERIAL_SHIFT = SYSTEM_TYPE_SHIFT + SYSTEM_TYPE_BITS;
+    private static final int METHOD_SHIFT = MATERIAL_SHIFT + 1;
+
+    private final CableCrossSectionCalculatorLogic logic;
+    private final int capacity;
+    private final long[] keys;
+    private final CableCalculation[] values;
+    private final int[] buckets;
+    private final int[] chain;
+    private final int[] newer;
+    private final int[] older;
+    private int size;
+    private int newest = -1;
+    private int oldest = -1;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache.
+     *
+     * @param logic     The logic computing missing results.
+     * @param capacity  The maximum number of cached results, at least 1.
+     */
+    public CableCalculationCache(CableCrossSectionCalculatorLogic logic, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.logic = logic;
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.values = new CableCalculation[capacity];
+        this.buckets = new int[Integer.highestOneBit(capacity * 2 - 1) * 2];
+        this.chain = new int[capacity];
+        this.newer = new int[capacity];
+        this.older = new int[capacity];
+        Arrays.fill(buckets, -1);
+    }
+
+    /**
+     * Returns the result of
+     * {@link CableCrossSectionCalculatorLogic#calculate}, from the cache if the
+     * same inputs were calculated before.
+     *
+     * @param systemType   The type of electrical system.
+     * @param length       The cable length (L) in meters.
+     * @param input        The power in kW for three-phase, the current in A for single-phase.
+     * @param voltage      The system voltage (U) in volts.
+     * @param material     The conductor material.
+     * @return The calculation result.
+     * @throws IllegalArgumentException if the system type is DC or an input is invalid.
+     */
+    public CableCalculation calculate(SystemType systemType, double length, double input,
+                                      double voltage, ConductorMaterial material) {
+        return calculate(systemType, length, input, voltage, material, null);
+    }
+
+    /**
+     * Returns the result of
+     * {@link CableCrossSectionCalculatorLogic#calculate} for an installation
+     * method, from the cache if the same inputs were calculated before.
+     *
+     * @param systemType   The type of electrical system.
+     * @param length       The cable length (L) in meters.
+     * @param input        The power in kW for three-phase, the current in A for single-phase.
+     * @param voltage      The system voltage (U) in volts.
+     * @param material     The conductor material.
+     * @param method       The installation method, or null to recommend by cross-section only.
+     * @return The calculation result.
+     * @throws IllegalArgumentException if the system type is DC or an input is invalid.
+     */
+    public CableCalculation calculate(SystemType systemType, double length, double input,
+                                      double voltage, ConductorMaterial material,
+                                      InstallationMethod method) {
+        long key = key(systemType, length, input, voltage, material, method);
+        if (key != NO_KEY) {
+            CableCalculation cached = get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        CableCalculation calculation = logic.calculate(systemType, length, input, voltage,
+                material, method);
+        if (key != NO_KEY) {
+            put(key, calculation);
+        }
+        return calculation;
+    }
+
+    /**
+     * Packs the inputs of a calculation into a key.
+     *
+     * @return The key, or {@link #NO_KEY} if an input is not a whole number in range.
+     */
+    static long key(SystemType systemType, double length, double input, double voltage,
+                    ConductorMaterial material, InstallationMethod method) {
+        if (!fits(input, INPUT_BITS) || !fits(length, LENGTH_BITS)
+                || !fits(voltage, VOLTAGE_BITS)) {
+            return NO_KEY;
+        }
+        return (long) input
+                | (long) length << LENGTH_SHIFT
+                | (long) voltage << VOLTAGE_SHIFT
+                | (long) systemType.ordinal() << SYSTEM_TYPE_SHIFT
+                | (long) material.ordinal() << MATERIAL_SHIFT
+                | (long) (method == null ? 0 : method.ordinal() + 1) << METHOD_SHIFT;
+    }
+
+    private static boolean fits(double value, int bits) {
+        return value >= 0 && value < (1L << bits) && value == Math.rint(value);
+    }
+
+    private synchronized CableCalculation get(long key) {
+        for (int slot = buckets[bucketOf(key)]; slot >= 0; slot = chain[slot]) {
+            if (keys[slot] == key) {
+                if (slot != newest) {
+                    unlink(slot);
+                    linkNewest(slot);
+                }
+                return values[slot];
+            }
+        }
+        return null;
+    }
+
+    private synchronized void put(long key, CableCalculation calculation) {
+        if (get(key) != null) {
+            return;
+        }
+        int slot;
+        if (size < capacity) {
+            slot = size++;
+        } else {
+            slot = oldest;
+            unlink(slot);
+            removeFromBucket(slot);
+        }
+        keys[slot] = key;
+        values[slot] = calculation;
+        int bucket = bucketOf(key);
+        chain[slot] = buckets[bucket];
+        buckets[bucket] = slot;
+        linkNewest(slot);
+    }
+
+    private int bucketOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (buckets.length - 1);
+    }
+
+    private void removeFromBucket(int slot) {
+        int bucket = bucketOf(keys[slot]);
+        if (buckets[bucket] == slot) {
+            buckets[bucket] = chain[slot];
+            return;
+        }
+        int previous = buckets[bucket];
+        while (chain[previous] != slot) {
+            previous = chain[previous];
+        }
+        chain[previous] = chain[slot];
+    }
+
+    private void unlink(int slot) {
+        if (newer[slot] >= 0) {
+            older[newer[slot]] = older[slot];
+        } else {
+            newest = older[slot];
+        }
+        if (older[slot] >= 0) {
+            newer[older[slot]] = newer[slot];
+        } else {
+            oldest = newer[slot];
+        }
+    }
+
+    private void linkNewest(int slot) {
+        newer[slot] = -1;
+        older[slot] = newest;
+        if (newest >= 0) {
+            newer[newest] = slot;
+        } else {
+            oldest = slot;
+        }
+        newest = slot;
+    }
+
+    /**
+     * Removes all cached results. The statistics are kept.
+     */
+    public synchronized void clear() {
+        Arrays.fill(buckets, -1);
+        Arrays.fill(values, null);
+        size = 0;
+        newest = -1;
+        oldest = -1;
+    }
+
+    /**
+     * Returns the number of cached results.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns how many calculations were answered from the cache.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how many calculations had to be computed.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the share of calculations answered from the cache.
+     *
+     * @return the hit ratio between 0 and 1, or 0 before the first calculation
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+}
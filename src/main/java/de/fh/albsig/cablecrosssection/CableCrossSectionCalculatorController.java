@@ -112,6 +112,12 @@ public class CableCrossSectionCalculatorController {
      */
     private final CableCrossSectionCalculatorLogic logic = new CableCrossSectionCalculatorLogic();
 
+    /**
+     * Results of earlier calculations, so re-entering a feeder does not recompute it.
+     */
+    private final CableCalculationCache calculationCache =
+            new CableCalculationCache(logic, CableCalculationCache.DEFAULT_CAPACITY);
+
     /**
      * Initializes the controller by setting up UI bindings, event listeners, and default values.
      */
@@ -126,16 +132,20 @@ public class CableCrossSectionCalculatorController {
         aluminumRadioButton.setToggleGroup(materialToggleGroup);
 
         // Populate the dropdowns
-        installationTypeComboBox.getItems().addAll("Wall", "Conduit", "Underground");
-        systemTypeComboBox.getItems().addAll("AC Single-phase", "AC Three-phase", "DC");
+        for (InstallationMethod method : InstallationMethod.values()) {
+            installationTypeComboBox.getItems().add(method.getLabel());
+        }
+        for (SystemType systemType : SystemType.values()) {
+            systemTypeComboBox.getItems().add(systemType.getLabel());
+        }
         inputMethodComboBox.getItems().addAll("Amperes", "Wattage");
 
         // Event listener for system type
         systemTypeComboBox.valueProperty().addListener((observable, oldValue, newValue) -> {
             updateVoltageOptions(newValue);
 
-            boolean isAlternatingCurrent =
-                    "AC Single-phase".equals(newValue) || "AC Three-phase".equals(newValue);
+            boolean isAlternatingCurrent = newValue != null
+                    && SystemType.fromLabel(newValue).isAlternatingCurrent();
             installationTypeContainer.setVisible(isAlternatingCurrent);
         });
 
@@ -217,18 +227,14 @@ public class CableCrossSectionCalculatorController {
             return;
         }
 
-        switch (systemType) {
-            case "AC Single-phase":
-                voltageComboBox.getItems().addAll("110V", "220V", "230V", "Custom");
-                break;
-            case "AC Three-phase":
-                voltageComboBox.getItems().addAll("380V", "400V", "415V", "Custom");
-                break;
-            case "DC":
-                voltageComboBox.getItems().addAll("12V", "24V", "48V", "Custom");
-                break;
-            default:
-                logger.warn("Unknown system type selected: " + systemType);
+        try {
+            for (StandardVoltage voltage : StandardVoltage.forSystem(
+                    SystemType.fromLabel(systemType))) {
+                voltageComboBox.getItems().add(voltage.getLabel());
+            }
+            voltageComboBox.getItems().add("Custom");
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown system type selected: " + systemType);
         }
 
         if (!voltageComboBox.getItems().isEmpty()) {
@@ -247,47 +253,26 @@ public class CableCrossSectionCalculatorController {
         try {
             // Parse user inputs
             double length = Double.parseDouble(lengthField.getText());
-            String material = copperRadioButton.isSelected() ? "Copper" : "Aluminum";
-            double conductivity = "Copper".equals(material) ? 56 : 37; // Conductivity for CO or AL
-            double voltageDrop = 5.0; // Default voltage drop in volts
-            String systemType = systemTypeComboBox.getValue();
+            ConductorMaterial material = copperRadioButton.isSelected()
+                    ? ConductorMaterial.COPPER : ConductorMaterial.ALUMINUM;
+            SystemType systemType = SystemType.fromLabel(systemTypeComboBox.getValue());
             String voltageSelection = voltageComboBox.getValue();
             double voltage = "Custom".equals(voltageSelection)
                     ? Double.parseDouble(customVoltageField.getText())
-                    : logic.parseStandardVoltage(voltageSelection);
-
-            double cosPhi = 0.9; // Default power factor
-            double crossSection;
-            double powerLoss;
-            double current; // Initialize current for power loss calculation
-
-            // Compute cross-section based on system type
-            if ("AC Three-phase".equals(systemType)) {
-                double powerInKiloWatts  = Double.parseDouble(inputField.getText());
-                current = (powerInKiloWatts * 1000) / (voltage * 1.732); // Current for three-phase
-                crossSection = logic.computeThreePhaseCrossSection(
-                        length, current, voltage, cosPhi, conductivity, voltageDrop);
-
-            } else if ("AC Single-phase".equals(systemType)) {
-                current = Double.parseDouble(inputField.getText());
-                crossSection = logic.computeSinglePhaseCrossSection(
-                        length, current, cosPhi, conductivity, voltageDrop);
-
-            } else {
-                throw new IllegalArgumentException("Invalid system type");
-            }
-
-            // Compute power loss
-            powerLoss = logic.computePowerLoss(length, current, material, crossSection);
+                    : StandardVoltage.fromLabel(voltageSelection).getVolts();
+            // Power in kW for three-phase, current in A for single-phase
+            double input = Double.parseDouble(inputField.getText());
+            String installationType = installationTypeComboBox.getValue();
+            InstallationMethod method = installationType != null
+                    ? InstallationMethod.fromLabel(installationType) : null;
 
-            // Recommend standard wiring size
-            String standardWiring = logic.getRecommendedStandardWiring(crossSection);
+            // Compute cross-section, power loss and standard wiring, or reuse them
+            CableCalculation calculation = calculationCache.calculate(
+                    systemType, length, input, voltage, material, method);
 
             // Display results
-            resultField.setText(
-                    String.format(
-                            "Cross-section: %.2f mm², Standard Wiring: %s, Power Loss: %.2f W",
-                    crossSection, standardWiring, powerLoss));
+            resultField.setText(calculation.summary());
+            logger.debug("Calculation cache hit ratio: {}", calculationCache.getHitRatio());
         } catch (Exception e) {
             logger.error("Error during calculation: ", e);
             showAlert("Error", "Invalid input. Please check your entries and try again.");
@@ -1,6 +1,7 @@
 package de.fh.albsig.cablecrosssection;
 
 
+import java.util.stream.IntStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -15,14 +16,17 @@ import org.apache.logging.log4j.Logger;
  *   <li>Parsing standard voltage values from string inputs.</li>
  *   <li>Computing cable cross-section sizes for single-phase and three-phase systems.</li>
  *   <li>Calculating power loss of a cable based on its material and usage parameters.</li>
- *   <li>Recommending standard wiring sizes based on computed cross-section values.</li>
+ *   <li>Recommending standard wiring sizes from the IEC 60228 table based on computed
+ *   cross-section values.</li>
+ *   <li>Batch variants of the calculations that write into caller-provided arrays.</li>
  * </ul>
  *
- * <p>This class supports materials like copper and aluminum for calculations, and
- * applies standard formulas used in electrical engineering.</p>
+ * <p>This class supports the materials of {@link ConductorMaterial} for calculations,
+ * and applies standard formulas used in electrical engineering. Every method taking
+ * a material or voltage name has an overload taking the typed model.</p>
  *
  * <p><strong>Note:</strong> Consult a professional for installations exceeding
- * the recommended size or for high-current/long-distance requirements.</p>
+ * 630 mm² or for high-current/long-distance requirements.</p>
  *
  * @author SB
  * @version 1.0
@@ -33,6 +37,20 @@ public class CableCrossSectionCalculatorLogic {
     private static final Logger logger =
             LogManager.getLogger(CableCrossSectionCalculatorLogic.class);
 
+    /** Minimum batch size that is split across threads when parallel is requested. */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Number of cables computed per parallel task. */
+    private static final int PARALLEL_CHUNK_SIZE = 1 << 14;
+
+    /** Allowable voltage drop (U_a) of {@link #calculate} in volts. */
+    public static final double DEFAULT_VOLTAGE_DROP = 5.0;
+
+    /** Power factor (cos φ) of {@link #calculate}. */
+    public static final double DEFAULT_COS_PHI = 0.9;
+
+    private final DeratingEngine derating = new DeratingEngine(this);
+
     /**
      * Parses the selected voltage string into a double.
      *
@@ -40,18 +58,7 @@ public class CableCrossSectionCalculatorLogic {
      * @return The numeric value of the voltage.
      */
     public double parseStandardVoltage(String voltageSelection) {
-        return switch (voltageSelection) {
-            case "110V" -> 110;
-            case "220V" -> 220;
-            case "230V" -> 230;
-            case "380V" -> 380;
-            case "400V" -> 400;
-            case "415V" -> 415;
-            case "12V" -> 12;
-            case "24V" -> 24;
-            case "48V" -> 48;
-            default -> throw new IllegalArgumentException("Invalid voltage selection");
-        };
+        return StandardVoltage.fromLabel(voltageSelection).getVolts();
     }
 
     /**
@@ -101,6 +108,42 @@ public class CableCrossSectionCalculatorLogic {
         return (2 * length * current * cosPhi) / (conductivity * voltageDrop);
     }
 
+    /**
+     * Computes the cable cross-section for a three-phase system, taking the
+     * conductivity from the conductor material.
+     *
+     * @param length         The cable length (L) in meters.
+     * @param current        The current in A (I).
+     * @param voltage        The system voltage (U) in volts.
+     * @param cosPhi         The power factor (cos φ).
+     * @param material       The conductor material, providing y.
+     * @param voltageDrop    The allowable voltage drop (U_a) in volts.
+     * @return The required cross-section in mm².
+     */
+    public double computeThreePhaseCrossSection(double length, double current,
+                                                double voltage, double cosPhi,
+                                                ConductorMaterial material, double voltageDrop) {
+        return computeThreePhaseCrossSection(length, current, voltage, cosPhi,
+                material.getConductivity(), voltageDrop);
+    }
+
+    /**
+     * Computes the cable cross-section for a single-phase system, taking the
+     * conductivity from the conductor material.
+     *
+     * @param length         The cable length (L) in meters.
+     * @param current        The current (I) in amperes.
+     * @param cosPhi         The power factor (cos φ).
+     * @param material       The conductor material, providing y.
+     * @param voltageDrop    The allowable voltage drop (U_a) in volts.
+     * @return The required cross-section in mm².
+     */
+    public double computeSinglePhaseCrossSection(double length, double current, double cosPhi,
+                                                 ConductorMaterial material, double voltageDrop) {
+        return computeSinglePhaseCrossSection(length, current, cosPhi,
+                material.getConductivity(), voltageDrop);
+    }
+
     /**
      * Computes the power loss of a cable.
      * Formula: Power Loss = (2 * ρ * L * I²) / A
@@ -115,37 +158,377 @@ public class CableCrossSectionCalculatorLogic {
      */
     public double computePowerLoss(double length, double current,
                                    String material, double crossSection) {
-        if (!"Copper".equals(material) && !"Aluminum".equals(material)) {
-            throw new IllegalArgumentException("Invalid material: "
-                    + material + ". Only 'Copper' or 'Aluminum' are allowed.");
+        return computePowerLoss(length, current, ConductorMaterial.fromLabel(material),
+                crossSection);
+    }
+
+    /**
+     * Computes the power loss of a cable.
+     * Formula: Power Loss = (2 * ρ * L * I²) / A
+     *
+     * @param length       The cable length (L) in meters.
+     * @param current      The current (I) in amperes.
+     * @param material     The conductor material, providing ρ.
+     * @param crossSection The cross-section of the cable (A) in mm².
+     * @return The power loss in watts.
+     */
+    public double computePowerLoss(double length, double current,
+                                   ConductorMaterial material, double crossSection) {
+        double resistivity = material.getResistivity();
+        return ((2 * resistivity * length * current * current) / crossSection) / 10;
+    }
+
+    /**
+     * Computes the power loss of a balanced three-phase cable. The three phase
+     * conductors carry the current and the neutral carries none.
+     * Formula: Power Loss = (3 * ρ * L * I²) / A
+     *
+     * @param length       The cable length (L) in meters.
+     * @param current      The phase current (I) in amperes.
+     * @param material     The conductor material, providing ρ.
+     * @param crossSection The cross-section of the cable (A) in mm².
+     * @return The power loss in watts.
+     */
+    public double computeThreePhasePowerLoss(double length, double current,
+                                             ConductorMaterial material, double crossSection) {
+        double resistivity = material.getResistivity();
+        return ((3 * resistivity * length * current * current) / crossSection) / 10;
+    }
+
+    /**
+     * Computes the three-phase cross-section for every cable of a batch.
+     * Each result equals
+     * {@link #computeThreePhaseCrossSection(double, double, double, double, double, double)}
+     * for the same inputs.
+     *
+     * @param lengths        The cable lengths (L) in meters.
+     * @param currents       The currents (I) in amperes.
+     * @param voltages       The system voltages (U) in volts.
+     * @param cosPhi         The power factor (cos φ).
+     * @param conductivity   The material conductivity (y) in S/m.
+     * @param voltageDrop    The allowable voltage drop (U_a) in volts.
+     * @param crossSections  The output array receiving the cross-sections in mm².
+     */
+    public void computeThreePhaseCrossSections(double[] lengths, double[] currents,
+                                               double[] voltages, double cosPhi,
+                                               double conductivity, double voltageDrop,
+                                               double[] crossSections) {
+        computeThreePhaseCrossSections(lengths, currents, voltages, cosPhi, conductivity,
+                voltageDrop, crossSections, false);
+    }
+
+    /**
+     * Computes the three-phase cross-section for every cable of a batch,
+     * optionally splitting batches of at least {@link #PARALLEL_THRESHOLD}
+     * cables across the common fork/join pool.
+     *
+     * @param lengths        The cable lengths (L) in meters.
+     * @param currents       The currents (I) in amperes.
+     * @param voltages       The system voltages (U) in volts.
+     * @param cosPhi         The power factor (cos φ).
+     * @param conductivity   The material conductivity (y) in S/m.
+     * @param voltageDrop    The allowable voltage drop (U_a) in volts.
+     * @param crossSections  The output array receiving the cross-sections in mm².
+     * @param parallel       Whether large batches may be computed in parallel.
+     */
+    public void computeThreePhaseCrossSections(double[] lengths, double[] currents,
+                                               double[] voltages, double cosPhi,
+                                               double conductivity, double voltageDrop,
+                                               double[] crossSections, boolean parallel) {
+        int count = requireBatch(lengths, crossSections);
+        requireSameLength(currents, count);
+        requireSameLength(voltages, count);
+        requireNonNegative(lengths, count, "length");
+        requireNonNegative(voltages, count, "voltage");
+        requireNonNegative(currents, count, "current");
+        double factor = 1.732;
+        double divisor = conductivity * voltageDrop;
+        if (runsInParallel(count, parallel)) {
+            forEachChunk(count, (from, to) -> crossSectionKernel(factor, lengths, currents,
+                    cosPhi, divisor, crossSections, from, to));
+        } else {
+            crossSectionKernel(factor, lengths, currents, cosPhi, divisor, crossSections, 0, count);
+        }
+    }
+
+    /**
+     * Computes the single-phase cross-section for every cable of a batch.
+     * Each result equals
+     * {@link #computeSinglePhaseCrossSection(double, double, double, double, double)}
+     * for the same inputs.
+     *
+     * @param lengths        The cable lengths (L) in meters.
+     * @param currents       The currents (I) in amperes.
+     * @param cosPhi         The power factor (cos φ).
+     * @param conductivity   The material conductivity (y) in S/m.
+     * @param voltageDrop    The allowable voltage drop (U_a) in volts.
+     * @param crossSections  The output array receiving the cross-sections in mm².
+     */
+    public void computeSinglePhaseCrossSections(double[] lengths, double[] currents,
+                                                double cosPhi, double conductivity,
+                                                double voltageDrop, double[] crossSections) {
+        computeSinglePhaseCrossSections(lengths, currents, cosPhi, conductivity, voltageDrop,
+                crossSections, false);
+    }
+
+    /**
+     * Computes the single-phase cross-section for every cable of a batch,
+     * optionally splitting batches of at least {@link #PARALLEL_THRESHOLD}
+     * cables across the common fork/join pool.
+     *
+     * @param lengths        The cable lengths (L) in meters.
+     * @param currents       The currents (I) in amperes.
+     * @param cosPhi         The power factor (cos φ).
+     * @param conductivity   The material conductivity (y) in S/m.
+     * @param voltageDrop    The allowable voltage drop (U_a) in volts.
+     * @param crossSections  The output array receiving the cross-sections in mm².
+     * @param parallel       Whether large batches may be computed in parallel.
+     */
+    public void computeSinglePhaseCrossSections(double[] lengths, double[] currents,
+                                                double cosPhi, double conductivity,
+                                                double voltageDrop, double[] crossSections,
+                                                boolean parallel) {
+        int count = requireBatch(lengths, crossSections);
+        requireSameLength(currents, count);
+        double factor = 2;
+        double divisor = conductivity * voltageDrop;
+        if (runsInParallel(count, parallel)) {
+            forEachChunk(count, (from, to) -> crossSectionKernel(factor, lengths, currents,
+                    cosPhi, divisor, crossSections, from, to));
+        } else {
+            crossSectionKernel(factor, lengths, currents, cosPhi, divisor, crossSections, 0, count);
         }
+    }
 
-        double resistivity = "Copper".equals(material) ? 0.017 : 0.028; // Resistivity in Ohm mm²/m
-        return ((2 * resistivity * length * Math.pow(current, 2)) / crossSection) / 10;
+    /**
+     * Computes the power loss for every cable of a batch. Each result equals
+     * {@link #computePowerLoss(double, double, String, double)} for the same inputs.
+     *
+     * @param lengths        The cable lengths (L) in meters.
+     * @param currents       The currents (I) in amperes.
+     * @param material       The material of the cables ("Copper" or "Aluminum").
+     * @param crossSections  The cross-sections of the cables (A) in mm².
+     * @param powerLosses    The output array receiving the power losses in watts.
+     * @throws IllegalArgumentException if the material is not "Copper" or "Aluminum".
+     */
+    public void computePowerLosses(double[] lengths, double[] currents, String material,
+                                   double[] crossSections, double[] powerLosses) {
+        computePowerLosses(lengths, currents, material, crossSections, powerLosses, false);
+    }
+
+    /**
+     * Computes the power loss for every cable of a batch, optionally splitting
+     * batches of at least {@link #PARALLEL_THRESHOLD} cables across the common
+     * fork/join pool.
+     *
+     * @param lengths        The cable lengths (L) in meters.
+     * @param currents       The currents (I) in amperes.
+     * @param material       The material of the cables ("Copper" or "Aluminum").
+     * @param crossSections  The cross-sections of the cables (A) in mm².
+     * @param powerLosses    The output array receiving the power losses in watts.
+     * @param parallel       Whether large batches may be computed in parallel.
+     * @throws IllegalArgumentException if the material is not "Copper" or "Aluminum".
+     */
+    public void computePowerLosses(double[] lengths, double[] currents, String material,
+                                   double[] crossSections, double[] powerLosses,
+                                   boolean parallel) {
+        computePowerLosses(lengths, currents, ConductorMaterial.fromLabel(material),
+                crossSections, powerLosses, parallel);
+    }
+
+    /**
+     * Computes the power loss for every cable of a batch, optionally splitting
+     * batches of at least {@link #PARALLEL_THRESHOLD} cables across the common
+     * fork/join pool.
+     *
+     * @param lengths        The cable lengths (L) in meters.
+     * @param currents       The currents (I) in amperes.
+     * @param material       The conductor material, providing ρ.
+     * @param crossSections  The cross-sections of the cables (A) in mm².
+     * @param powerLosses    The output array receiving the power losses in watts.
+     * @param parallel       Whether large batches may be computed in parallel.
+     */
+    public void computePowerLosses(double[] lengths, double[] currents,
+                                   ConductorMaterial material, double[] crossSections,
+                                   double[] powerLosses, boolean parallel) {
+        int count = requireBatch(lengths, powerLosses);
+        requireSameLength(currents, count);
+        requireSameLength(crossSections, count);
+        double resistivity = material.getResistivity();
+        if (runsInParallel(count, parallel)) {
+            forEachChunk(count, (from, to) -> powerLossKernel(resistivity, lengths, currents,
+                    crossSections, powerLosses, from, to));
+        } else {
+            powerLossKernel(resistivity, lengths, currents, crossSections, powerLosses, 0, count);
+        }
     }
+
     /**
      * Recommends a standard wiring size based on the cross-section.
+     * Sizes below {@link StandardCableSizes#MIN_POWER_CIRCUIT_SIZE} are raised
+     * to that minimum.
      *
      * @param crossSection The computed cross-section in mm².
      * @return The recommended standard wiring size.
      */
 
     public String getRecommendedStandardWiring(double crossSection) {
-        if (crossSection <= 1.5) {
-            return "1.5 mm²";
-        } else if (crossSection <= 2.5) {
-            return "2.5 mm²";
-        } else if (crossSection <= 4.0) {
-            return "4.0 mm²";
-        } else if (crossSection <= 6.0) {
-            return "6.0 mm²";
-        } else if (crossSection <= 10.0) {
-            return "10.0 mm²";
-        } else if (crossSection <= 16.0) {
-            return "16.0 mm²";
+        CableSize size = recommendStandardSize(crossSection);
+        return size != null ? size.label()
+                : "Greater than " + StandardCableSizes.largest().label()
+                        + " (consult a professional)";
+    }
+
+    /**
+     * Recommends a standard cable size based on the cross-section, using a
+     * binary search over the IEC 60228 table.
+     *
+     * @param crossSection The computed cross-section in mm².
+     * @return The smallest standard size of at least the cross-section and
+     *         {@link StandardCableSizes#MIN_POWER_CIRCUIT_SIZE}, or null if
+     *         the cross-section exceeds the largest standard size.
+     */
+    public CableSize recommendStandardSize(double crossSection) {
+        return StandardCableSizes.smallestCovering(
+                Math.max(crossSection, StandardCableSizes.MIN_POWER_CIRCUIT_SIZE));
+    }
+
+    /**
+     * Computes the cross-section, power loss and recommended wiring of a
+     * feeder with the default voltage drop and power factor, as entered in the
+     * calculator.
+     *
+     * @param systemType   The type of electrical system.
+     * @param length       The cable length (L) in meters.
+     * @param input        The power in kW for three-phase, the current in A for single-phase.
+     * @param voltage      The system voltage (U) in volts.
+     * @param material     The conductor material.
+     * @return The calculation result.
+     * @throws IllegalArgumentException if the system type is DC or an input is invalid.
+     */
+    public CableCalculation calculate(SystemType systemType, double length, double input,
+                                      double voltage, ConductorMaterial material) {
+        return calculate(systemType, length, input, voltage, material, null);
+    }
+
+    /**
+     * Computes the cross-section, power loss and recommended wiring of a
+     * feeder with the default voltage drop and power factor. If an
+     * installation method is given, the recommended wiring is the size that
+     * {@link DeratingEngine} finds for a single circuit at the reference
+     * temperature of the method.
+     *
+     * @param systemType   The type of electrical system.
+     * @param length       The cable length (L) in meters.
+     * @param input        The power in kW for three-phase, the current in A for single-phase.
+     * @param voltage      The system voltage (U) in volts.
+     * @param material     The conductor material.
+     * @param method       The installation method, or null to recommend by cross-section only.
+     * @return The calculation result.
+     * @throws IllegalArgumentException if the system type is DC or an input is invalid.
+     */
+    public CableCalculation calculate(SystemType systemType, double length, double input,
+                                      double voltage, ConductorMaterial material,
+                                      InstallationMethod method) {
+        double current;
+        double crossSection;
+        if (systemType == SystemType.AC_THREE_PHASE) {
+            current = (input * 1000) / (voltage * 1.732);
+            crossSection = computeThreePhaseCrossSection(length, current, voltage,
+                    DEFAULT_COS_PHI, material, DEFAULT_VOLTAGE_DROP);
+        } else if (systemType == SystemType.AC_SINGLE_PHASE) {
+            current = input;
+            crossSection = computeSinglePhaseCrossSection(length, current, DEFAULT_COS_PHI,
+                    material, DEFAULT_VOLTAGE_DROP);
+        } else {
+            logger.info("Illegal system type entered");
+            throw new IllegalArgumentException("Invalid system type");
+        }
+        String standardWiring;
+        if (method == null) {
+            standardWiring = getRecommendedStandardWiring(crossSection);
         } else {
-            return "Greater than 16.0 mm² (consult a professional)";
+            DeratedSizing sizing = derating.size(systemType, length, current, voltage,
+                    DEFAULT_COS_PHI, material, DEFAULT_VOLTAGE_DROP, method,
+                    method.getReferenceTemperature(), 1);
+            standardWiring = sizing.isSized() ? sizing.size().label()
+                    : "Greater than " + StandardCableSizes.largest().label()
+                            + " (consult a professional)";
         }
+        return new CableCalculation(crossSection, current,
+                computePowerLoss(length, current, material, crossSection), standardWiring);
+    }
+
+    /**
+     * Computes one contiguous slice {@code [from, to)} of a batch.
+     */
+    @FunctionalInterface
+    private interface ChunkKernel {
+        void compute(int from, int to);
     }
 
+    /**
+     * Computes {@code (factor * L * I * cos φ) / divisor} for a slice of a batch.
+     * The loop body has no branches or calls so the JIT can vectorise it.
+     */
+    private static void crossSectionKernel(double factor, double[] lengths, double[] currents,
+                                           double cosPhi, double divisor, double[] out,
+                                           int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = (factor * lengths[i] * currents[i] * cosPhi) / divisor;
+        }
+    }
+
+    /**
+     * Computes {@code ((2 * ρ * L * I²) / A) / 10} for a slice of a batch.
+     */
+    private static void powerLossKernel(double resistivity, double[] lengths, double[] currents,
+                                        double[] crossSections, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double current = currents[i];
+            out[i] = ((2 * resistivity * lengths[i] * current * current) / crossSections[i]) / 10;
+        }
+    }
+
+    private static boolean runsInParallel(int count, boolean parallel) {
+        return parallel && count >= PARALLEL_THRESHOLD;
+    }
+
+    /**
+     * Runs a kernel over a batch in parallel chunks on the common fork/join pool.
+     */
+    private static void forEachChunk(int count, ChunkKernel kernel) {
+        int chunks = (count + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * PARALLEL_CHUNK_SIZE;
+            kernel.compute(from, Math.min(from + PARALLEL_CHUNK_SIZE, count));
+        });
+    }
+
+    /**
+     * Checks that the output array can hold the results of a batch.
+     *
+     * @return the number of cables in the batch
+     */
+    private static int requireBatch(double[] lengths, double[] output) {
+        if (output.length < lengths.length) {
+            throw new IllegalArgumentException("Output array is shorter than the batch");
+        }
+        return lengths.length;
+    }
+
+    private static void requireSameLength(double[] input, int count) {
+        if (input.length != count) {
+            throw new IllegalArgumentException("Batch inputs must have the same length");
+        }
+    }
+
+    private static void requireNonNegative(double[] values, int count, String name) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] < 0) {
+                logger.info("Illegal {} entered at index {}", name, i);
+                throw new IllegalArgumentException("A " + name + " is less than 0");
+            }
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package de.fh.albsig.cablecrosssection;
+
+/**
+ * A standard conductor cross-section with its reference properties.
+ *
+ * @param crossSection         The nominal cross-section in mm².
+ * @param ampacity             The current-carrying capacity in A (copper, PVC, installation
+ *                             method C, two loaded conductors, 30 °C ambient).
+ * @param resistanceOhmPerKm   The maximum DC resistance of a copper conductor at 20 °C in Ω/km.
+ * @param costPerMetre         The approximate price of a single-core copper cable in €/m.
+ * @param label                The display label (e.g., "2.5 mm²").
+ */
+public record CableSize(double crossSection, double ampacity, double resistanceOhmPerKm,
+                        double costPerMetre, String label) {
+
+    /**
+     * Returns the resistance of a given cable length.
+     *
+     * @param length The cable length in meters.
+     * @return The resistance in Ohm.
+     */
+    public double resistance(double length) {
+        return resistanceOhmPerKm * length / 1000;
+    }
+}
@@ -0,0 +1,190 @@
+package de.fh.albsig.cablecrosssection;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Evaluates every combination of conductor material, standard voltage, cable
+ * length, current, allowable voltage drop and power factor, for what-if
+ * analysis beyond the fixed defaults of the calculator.
+ *
+ * <p>The scenarios of the grid (see {@link SweepResult}) are split
+ * recursively on a {@link ForkJoinPool} until about {@link #LEAF_SIZE}
+ * combinations remain. Each leaf writes its rows straight into the columns of
+ * the result and computes the Pareto front of each of its scenarios, so no
+ * task waits for another's results. Every combination is sized
+ * like a single calculation: the single-phase or three-phase formula (DC with
+ * cos φ = 1), then the smallest standard size of at least 1.5 mm² that carries
+ * the current in the conductor material of the row.</p>
+ *
+ * <p>The cost counts the conductors, two for single-phase and DC and four for
+ * three-phase, at the copper prices of {@link StandardCableSizes} scaled by the
+ * cost factor of the material. The power loss of a three-phase row is that of
+ * three loaded phases and an unloaded neutral.</p>
+ */
+public class CableSweep {
+
+    private static final Logger logger = LogManager.getLogger(CableSweep.class);
+
+    /** Number of combinations below which a task is not split further. */
+    static final int LEAF_SIZE = 1 << 13;
+
+    /**
+     * Largest number of combinations a sweep evaluates. At 13 bytes per row
+     * the result then takes about 440 MB, which still fits a default heap.
+     */
+    public static final int MAX_ROWS = 1 << 25;
+
+    private final CableCrossSectionCalculatorLogic logic = new CableCrossSectionCalculatorLogic();
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a sweep engine running on the common pool.
+     */
+    public CableSweep() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a sweep engine.
+     *
+     * @param pool The pool to run on.
+     */
+    public CableSweep(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Evaluates all combinations of the given parameters.
+     *
+     * @param materials     The conductor materials.
+     * @param voltages      The standard voltages, which also give the system type.
+     * @param lengths       The cable lengths (L) in meters.
+     * @param currents      The currents (I) in amperes.
+     * @param voltageDrops  The allowable voltage drops (U_a) in volts.
+     * @param cosPhis       The power factors (cos φ).
+     * @return The results of all combinations and their Pareto front.
+     * @throws IllegalArgumentException if a parameter is empty or out of range, or there
+     *                                  are more than {@link #MAX_ROWS} combinations.
+     */
+    public SweepResult run(List<ConductorMaterial> materials, List<StandardVoltage> voltages,
+                           SweepRange lengths, SweepRange currents, SweepRange voltageDrops,
+                           SweepRange cosPhis) {
+        if (materials.isEmpty() || voltages.isEmpty()) {
+            logger.info("Illegal sweep entered");
+            throw new IllegalArgumentException("Materials and voltages must not be empty");
+        }
+        if (lengths.min() <= 0) {
+            logger.info("Illegal length entered");
+            throw new IllegalArgumentException("Length must be positive");
+        }
+        if (currents.min() <= 0) {
+            logger.info("Illegal current entered");
+            throw new IllegalArgumentException("Current must be positive");
+        }
+        if (voltageDrops.min() <= 0) {
+            logger.info("Illegal voltage drop entered");
+            throw new IllegalArgumentException("Voltage drop must be positive");
+        }
+        if (cosPhis.min() <= 0 || cosPhis.max() > 1) {
+            logger.info("Illegal power factor entered");
+            throw new IllegalArgumentException("Power factor must be in (0, 1]");
+        }
+        long combinations = (long) materials.size() * voltages.size() * lengths.steps()
+                * currents.steps() * voltageDrops.steps() * cosPhis.steps();
+        if (combinations > MAX_ROWS) {
+            logger.info("Illegal sweep entered");
+            throw new IllegalArgumentException("Too many combinations: " + combinations
+                    + ", at most " + MAX_ROWS + " are supported");
+        }
+
+        SweepResult result = new SweepResult(materials, voltages, lengths, currents,
+                voltageDrops, cosPhis, (int) combinations);
+        int leafScenarios = Math.max(LEAF_SIZE / result.optionsPerScenario(), 1);
+        pool.invoke(new SweepTask(result, 0, result.scenarioCount(), leafScenarios));
+        return result;
+    }
+
+    private final class SweepTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SweepResult result;
+        private final int from;
+        private final int to;
+        private final int leafScenarios;
+
+        SweepTask(SweepResult result, int from, int to, int leafScenarios) {
+            this.result = result;
+            this.from = from;
+            this.to = to;
+            this.leafScenarios = leafScenarios;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafScenarios) {
+                for (int scenario = from; scenario < to; scenario++) {
+                    evaluate(result, scenario);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SweepTask(result, from, middle, leafScenarios),
+                    new SweepTask(result, middle, to, leafScenarios));
+        }
+    }
+
+    private void evaluate(SweepResult result, int scenario) {
+        int first = scenario * result.optionsPerScenario();
+        double length = result.lengthOf(first);
+        double current = result.currentOf(first);
+        double cosPhi = result.cosPhiOf(first);
+        SweepResult.Front front = result.new Front();
+        for (int row = first; row < first + result.optionsPerScenario(); row++) {
+            ConductorMaterial material = result.materialOf(row);
+            StandardVoltage voltage = result.voltageOf(row);
+            double voltageDrop = result.voltageDropOf(row);
+            SystemType systemType = voltage.getSystemType();
+
+            double required;
+            if (systemType == SystemType.AC_THREE_PHASE) {
+                required = logic.computeThreePhaseCrossSection(length, current,
+                        voltage.getVolts(), cosPhi, material, voltageDrop);
+            } else {
+                required = logic.computeSinglePhaseCrossSection(length, current,
+                        systemType == SystemType.DC ? 1.0 : cosPhi, material, voltageDrop);
+            }
+            int sizeIndex = StandardCableSizes.smallestCoveringIndex(
+                    Math.max(required, StandardCableSizes.MIN_POWER_CIRCUIT_SIZE), current,
+                    material);
+
+            result.requiredCrossSections[row] = (float) required;
+            result.sizeIndices[row] = (byte) sizeIndex;
+            if (sizeIndex < 0) {
+                result.powerLosses[row] = Float.NaN;
+                result.costs[row] = Float.NaN;
+                continue;
+            }
+            CableSize size = StandardCableSizes.get(sizeIndex);
+            int conductors;
+            double powerLoss;
+            if (systemType == SystemType.AC_THREE_PHASE) {
+                conductors = 4;
+                powerLoss = logic.computeThreePhasePowerLoss(length, current, material,
+                        size.crossSection());
+            } else {
+                conductors = 2;
+                powerLoss = logic.computePowerLoss(length, current, material, size.crossSection());
+            }
+            result.powerLosses[row] = (float) powerLoss;
+            result.costs[row] = (float) (size.costPerMetre() * material.getCostFactor()
+                    * length * conductors);
+            front.offer(row);
+        }
+        result.paretoFronts[scenario] = front.toSortedArray();
+    }
+}
@@ -0,0 +1,106 @@
+package de.fh.albsig.cablecrosssection;
+
+/**
+ * Conductor materials with their electrical properties at 20 °C.
+ *
+ * <p>Resistivity and conductivity are given in the units the calculation
+ * formulas use: Ohm mm²/m and S·m/mm² (e.g., 56 for copper). The cost factor
+ * scales the copper cable prices of {@link StandardCableSizes}.</p>
+ */
+public enum ConductorMaterial {
+
+    /** Copper conductor. */
+    COPPER("Copper", 0.017, 56, 0.00393, 1.0),
+
+    /** Aluminum conductor. */
+    ALUMINUM("Aluminum", 0.028, 37, 0.00403, 0.45);
+
+    private final String label;
+    private final double resistivity;
+    private final double conductivity;
+    private final double temperatureCoefficient;
+    private final double costFactor;
+
+    ConductorMaterial(String label, double resistivity, double conductivity,
+                      double temperatureCoefficient, double costFactor) {
+        this.label = label;
+        this.resistivity = resistivity;
+        this.conductivity = conductivity;
+        this.temperatureCoefficient = temperatureCoefficient;
+        this.costFactor = costFactor;
+    }
+
+    /**
+     * Returns the display name used in the UI (e.g., "Copper").
+     *
+     * @return The label.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns the resistivity at 20 °C.
+     *
+     * @return The resistivity (ρ) in Ohm mm²/m.
+     */
+    public double getResistivity() {
+        return resistivity;
+    }
+
+    /**
+     * Returns the conductivity used by the cross-section formulas.
+     *
+     * @return The conductivity (y) in S·m/mm².
+     */
+    public double getConductivity() {
+        return conductivity;
+    }
+
+    /**
+     * Returns the temperature coefficient of resistance.
+     *
+     * @return The coefficient (α) in 1/K.
+     */
+    public double getTemperatureCoefficient() {
+        return temperatureCoefficient;
+    }
+
+    /**
+     * Returns the approximate price of a cable in this material relative to a
+     * copper cable of the same cross-section.
+     *
+     * @return The cost factor, 1 for copper.
+     */
+    public double getCostFactor() {
+        return costFactor;
+    }
+
+    /**
+     * Returns the resistivity at a conductor temperature.
+     * Formula: ρ(T) = ρ20 * (1 + α * (T - 20))
+     *
+     * @param celsius The conductor temperature in °C.
+     * @return The resistivity in Ohm mm²/m.
+     */
+    public double resistivityAt(double celsius) {
+        return resistivity * (1 + temperatureCoefficient * (celsius - 20));
+    }
+
+    /**
+     * Looks up a material by its display name.
+     *
+     * @param label The material name ("Copper" or "Aluminum").
+     * @return The material.
+     * @throws IllegalArgumentException if the material is not "Copper" or "Aluminum".
+     */
+    public static ConductorMaterial fromLabel(String label) {
+        for (ConductorMaterial material : values()) {
+            if (material.label.equals(label)) {
+                return material;
+            }
+        }
+        throw new IllegalArgumentException("Invalid material: "
+                + label + ". Only 'Copper' or 'Aluminum' are allowed.");
+    }
+}
@@ -0,0 +1,26 @@
+package de.fh.albsig.cablecrosssection;
+
+/**
+ * Result of sizing a cable for its installation conditions.
+ *
+ * @param size                  The smallest standard size passing both checks, or null if none
+ *                              does.
+ * @param requiredCrossSection  The cross-section required by the voltage drop alone in mm².
+ * @param deratingFactor        The combined correction factor of the reference ampacity.
+ * @param deratedAmpacity       The current-carrying capacity of the size as installed in A.
+ * @param voltageDrop           The voltage drop of the size at its conductor temperature in V.
+ * @param conductorTemperature  The estimated conductor temperature under load in °C.
+ */
+public record DeratedSizing(CableSize size, double requiredCrossSection, double deratingFactor,
+                            double deratedAmpacity, double voltageDrop,
+                            double conductorTemperature) {
+
+    /**
+     * Returns whether a standard size passes both checks.
+     *
+     * @return true if {@link #size()} is not null.
+     */
+    public boolean isSized() {
+        return size != null;
+    }
+}
@@ -0,0 +1,106 @@
+package de.fh.albsig.cablecrosssection;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Sizes a cable for its installation conditions, checking both the
+ * current-carrying capacity and the voltage drop.
+ *
+ * <p>The reference ampacities of {@link StandardCableSizes} are multiplied by
+ * the factors of {@link DeratingTables} and by the material ratio of
+ * {@link StandardCableSizes#ampacityRatio}. The search starts at the smallest size that
+ * covers both the cross-section required by the voltage drop and the derated
+ * current. Each candidate's conductor temperature is then estimated as
+ * T = T_a + (70 °C − T_a) · (I / I_z)². The voltage drop is recomputed with
+ * the resistivity at that temperature, and larger sizes are tried until the
+ * drop is within the limit.</p>
+ */
+public class DeratingEngine {
+
+    private static final Logger logger = LogManager.getLogger(DeratingEngine.class);
+
+    private final CableCrossSectionCalculatorLogic logic;
+
+    /**
+     * Creates a derating engine.
+     *
+     * @param logic The logic providing the cross-section formulas.
+     */
+    public DeratingEngine(CableCrossSectionCalculatorLogic logic) {
+        this.logic = logic;
+    }
+
+    /**
+     * Sizes a cable.
+     *
+     * @param systemType   The type of electrical system.
+     * @param length       The cable length (L) in meters.
+     * @param current      The load current (I) in amperes.
+     * @param voltage      The system voltage (U) in volts.
+     * @param cosPhi       The power factor (cos φ), ignored for DC.
+     * @param material     The conductor material.
+     * @param voltageDrop  The allowable voltage drop (U_a) in volts.
+     * @param method       The installation method.
+     * @param temperature  The air or ground temperature in °C.
+     * @param circuits     The number of grouped circuits including this one.
+     * @return The sizing; its size is null if no standard size passes both checks.
+     * @throws IllegalArgumentException if an input is invalid.
+     */
+    public DeratedSizing size(SystemType systemType, double length, double current,
+                              double voltage, double cosPhi, ConductorMaterial material,
+                              double voltageDrop, InstallationMethod method, double temperature,
+                              int circuits) {
+        if (!(temperature >= DeratingTables.MIN_TEMPERATURE
+                && temperature <= DeratingTables.MAX_TEMPERATURE)) {
+            logger.info("Illegal temperature entered");
+            throw new IllegalArgumentException("Temperature must be between "
+                    + DeratingTables.MIN_TEMPERATURE + " and "
+                    + DeratingTables.MAX_TEMPERATURE + " °C");
+        }
+        if (circuits < 1) {
+            logger.info("Illegal number of circuits entered");
+            throw new IllegalArgumentException("Number of circuits must be positive");
+        }
+        double effectiveCosPhi = systemType == SystemType.DC ? 1.0 : cosPhi;
+        double factor = DeratingTables.deratingFactor(method, temperature, circuits)
+                * StandardCableSizes.ampacityRatio(material);
+        double required = crossSection(systemType, length, current, voltage, effectiveCosPhi,
+                material, voltageDrop);
+
+        int first = StandardCableSizes.smallestCoveringIndex(
+                Math.max(required, StandardCableSizes.MIN_POWER_CIRCUIT_SIZE), current / factor);
+        if (first >= 0) {
+            for (int i = first; i < StandardCableSizes.all().size(); i++) {
+                CableSize size = StandardCableSizes.get(i);
+                double ampacity = size.ampacity() * factor;
+                double load = current / ampacity;
+                double conductorTemperature = temperature
+                        + (DeratingTables.MAX_CONDUCTOR_TEMPERATURE - temperature) * load * load;
+                // The formula is symmetric in A and U_a, so the same method gives the drop
+                double drop = crossSection(systemType, length, current, voltage,
+                        effectiveCosPhi, material, size.crossSection())
+                        * material.resistivityAt(conductorTemperature)
+                        / material.getResistivity();
+                if (drop <= voltageDrop) {
+                    return new DeratedSizing(size, required, factor, ampacity, drop,
+                            conductorTemperature);
+                }
+            }
+        }
+        logger.warn("No standard cable size carries {} A within {} V drop.", current,
+                voltageDrop);
+        return new DeratedSizing(null, required, factor, Double.NaN, Double.NaN, Double.NaN);
+    }
+
+    private double crossSection(SystemType systemType, double length, double current,
+                                double voltage, double cosPhi, ConductorMaterial material,
+                                double voltageDrop) {
+        if (systemType == SystemType.AC_THREE_PHASE) {
+            return logic.computeThreePhaseCrossSection(length, current, voltage, cosPhi,
+                    material, voltageDrop);
+        }
+        return logic.computeSinglePhaseCrossSection(length, current, cosPhi, material,
+                voltageDrop);
+    }
+}
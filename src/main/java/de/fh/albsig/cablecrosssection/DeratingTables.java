@@ -0,0 +1,153 @@
+package de.fh.albsig.cablecrosssection;
+
+/**
+ * Correction factors for the current-carrying capacity of PVC-insulated
+ * cables (IEC 60364-5-52, tables B.52.14, B.52.15, B.52.17 and B.52.19).
+ *
+ * <p>The standard lists temperatures in 5 K steps and only some circuit
+ * counts. When the class is loaded, both are interpolated linearly into flat
+ * arrays with one entry per degree and per circuit, per installation method.
+ * A lookup is then an index computation and, for fractional temperatures, one
+ * more interpolation between neighbouring entries.</p>
+ */
+public final class DeratingTables {
+
+    /** Lowest tabulated surrounding temperature in °C. */
+    public static final int MIN_TEMPERATURE = 10;
+
+    /** Highest tabulated surrounding temperature in °C. */
+    public static final int MAX_TEMPERATURE = 60;
+
+    /** Number of circuits from which the grouping factor no longer decreases. */
+    public static final int MAX_CIRCUITS = 20;
+
+    /** Maximum permissible conductor temperature of PVC insulation in °C. */
+    public static final double MAX_CONDUCTOR_TEMPERATURE = 70;
+
+    private static final int TEMPERATURE_STEPS = MAX_TEMPERATURE - MIN_TEMPERATURE + 1;
+
+    // Table B.52.14, air, and B.52.15, ground: 10, 15, ..., 60 °C
+    private static final double[] AIR_TEMPERATURE_FACTORS = {
+        1.22, 1.17, 1.12, 1.06, 1.00, 0.94, 0.87, 0.79, 0.71, 0.61, 0.50
+    };
+    private static final double[] GROUND_TEMPERATURE_FACTORS = {
+        1.10, 1.05, 1.00, 0.95, 0.89, 0.84, 0.77, 0.71, 0.63, 0.55, 0.45
+    };
+
+    // Table B.52.17 row 2 (single layer on a wall), row 1 (bunched, enclosed)
+    // and table B.52.19 (multi-core cables in ducts in the ground, touching)
+    private static final int[] WALL_CIRCUITS = {1, 2, 3, 4, 5, 6, 7, 8, 9};
+    private static final double[] WALL_GROUPING_FACTORS = {
+        1.00, 0.85, 0.79, 0.75, 0.73, 0.72, 0.72, 0.71, 0.70
+    };
+    private static final int[] CONDUIT_CIRCUITS = {1, 2, 3, 4, 5, 6, 7, 8, 9, 12, 16, 20};
+    private static final double[] CONDUIT_GROUPING_FACTORS = {
+        1.00, 0.80, 0.70, 0.65, 0.60, 0.57, 0.54, 0.52, 0.50, 0.45, 0.41, 0.38
+    };
+    private static final int[] UNDERGROUND_CIRCUITS = {1, 2, 3, 4, 5, 6};
+    private static final double[] UNDERGROUND_GROUPING_FACTORS = {
+        1.00, 0.85, 0.75, 0.70, 0.65, 0.60
+    };
+
+    /** Temperature factors, indexed by method ordinal * steps + degrees above the minimum. */
+    private static final double[] TEMPERATURE_FACTORS =
+            new double[InstallationMethod.values().length * TEMPERATURE_STEPS];
+
+    /** Grouping factors, indexed by method ordinal * (max + 1) + circuits. */
+    private static final double[] GROUPING_FACTORS =
+            new double[InstallationMethod.values().length * (MAX_CIRCUITS + 1)];
+
+    static {
+        for (InstallationMethod method : InstallationMethod.values()) {
+            double[] temperatureFactors = method.isInGround()
+                    ? GROUND_TEMPERATURE_FACTORS : AIR_TEMPERATURE_FACTORS;
+            for (int t = 0; t < TEMPERATURE_STEPS; t++) {
+                int lower = t / 5;
+                double factor = t % 5 == 0 ? temperatureFactors[lower]
+                        : lerp(temperatureFactors[lower], temperatureFactors[lower + 1],
+                                (t % 5) / 5.0);
+                TEMPERATURE_FACTORS[method.ordinal() * TEMPERATURE_STEPS + t] = factor;
+            }
+
+            int[] circuits = switch (method) {
+                case WALL -> WALL_CIRCUITS;
+                case CONDUIT -> CONDUIT_CIRCUITS;
+                case UNDERGROUND -> UNDERGROUND_CIRCUITS;
+            };
+            double[] groupingFactors = switch (method) {
+                case WALL -> WALL_GROUPING_FACTORS;
+                case CONDUIT -> CONDUIT_GROUPING_FACTORS;
+                case UNDERGROUND -> UNDERGROUND_GROUPING_FACTORS;
+            };
+            int offset = method.ordinal() * (MAX_CIRCUITS + 1);
+            int k = 0;
+            for (int n = 1; n <= MAX_CIRCUITS; n++) {
+                while (k + 1 < circuits.length && circuits[k + 1] <= n) {
+                    k++;
+                }
+                GROUPING_FACTORS[offset + n] = k + 1 < circuits.length
+                        ? lerp(groupingFactors[k], groupingFactors[k + 1],
+                                (double) (n - circuits[k]) / (circuits[k + 1] - circuits[k]))
+                        : groupingFactors[k];
+            }
+        }
+    }
+
+    private DeratingTables() {
+    }
+
+    private static double lerp(double from, double to, double fraction) {
+        return from + (to - from) * fraction;
+    }
+
+    /**
+     * Returns the correction factor for the surrounding temperature.
+     *
+     * @param method   The installation method, which selects the air or ground table.
+     * @param celsius  The air or ground temperature in °C.
+     * @return The factor.
+     * @throws IllegalArgumentException if the temperature is outside the tables.
+     */
+    public static double temperatureFactor(InstallationMethod method, double celsius) {
+        if (!(celsius >= MIN_TEMPERATURE && celsius <= MAX_TEMPERATURE)) {
+            throw new IllegalArgumentException("Temperature must be between "
+                    + MIN_TEMPERATURE + " and " + MAX_TEMPERATURE + " °C");
+        }
+        double offset = celsius - MIN_TEMPERATURE;
+        int index = method.ordinal() * TEMPERATURE_STEPS + (int) offset;
+        double fraction = offset - (int) offset;
+        return fraction == 0 ? TEMPERATURE_FACTORS[index]
+                : lerp(TEMPERATURE_FACTORS[index], TEMPERATURE_FACTORS[index + 1], fraction);
+    }
+
+    /**
+     * Returns the correction factor for cables grouped with other circuits.
+     *
+     * @param method    The installation method.
+     * @param circuits  The number of circuits including this one.
+     * @return The factor.
+     * @throws IllegalArgumentException if there is less than one circuit.
+     */
+    public static double groupingFactor(InstallationMethod method, int circuits) {
+        if (circuits < 1) {
+            throw new IllegalArgumentException("Number of circuits must be positive");
+        }
+        return GROUPING_FACTORS[method.ordinal() * (MAX_CIRCUITS + 1)
+                + Math.min(circuits, MAX_CIRCUITS)];
+    }
+
+    /**
+     * Returns the combined correction factor of installation method,
+     * temperature and grouping.
+     *
+     * @param method    The installation method.
+     * @param celsius   The air or ground temperature in °C.
+     * @param circuits  The number of circuits including this one.
+     * @return The factor by which the reference ampacity is multiplied.
+     */
+    public static double deratingFactor(InstallationMethod method, double celsius,
+                                        int circuits) {
+        return method.getMethodFactor() * temperatureFactor(method, celsius)
+                * groupingFactor(method, circuits);
+    }
+}
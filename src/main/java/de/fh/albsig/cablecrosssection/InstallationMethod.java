@@ -0,0 +1,82 @@
+package de.fh.albsig.cablecrosssection;
+
+/**
+ * Ways a cable can be installed, which determine how well it dissipates heat
+ * (IEC 60364-5-52).
+ */
+public enum InstallationMethod {
+
+    /** Clipped directly to a wall (reference method C). */
+    WALL("Wall", 1.00, false),
+
+    /** In conduit on or in a wall (reference method B2). */
+    CONDUIT("Conduit", 0.85, false),
+
+    /** In ducts in the ground (reference method D1). */
+    UNDERGROUND("Underground", 1.07, true);
+
+    private final String label;
+    private final double methodFactor;
+    private final boolean inGround;
+
+    InstallationMethod(String label, double methodFactor, boolean inGround) {
+        this.label = label;
+        this.methodFactor = methodFactor;
+        this.inGround = inGround;
+    }
+
+    /**
+     * Returns the display name used in the UI (e.g., "Wall").
+     *
+     * @return The label.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns the ampacity of this method relative to the reference values of
+     * {@link StandardCableSizes}, which are for cables on a wall.
+     *
+     * @return The factor.
+     */
+    public double getMethodFactor() {
+        return methodFactor;
+    }
+
+    /**
+     * Returns whether the surrounding temperature is that of the ground
+     * rather than the air.
+     *
+     * @return true for underground installation.
+     */
+    public boolean isInGround() {
+        return inGround;
+    }
+
+    /**
+     * Returns the surrounding temperature at which no temperature correction
+     * applies: 30 °C air, 20 °C ground.
+     *
+     * @return The temperature in °C.
+     */
+    public double getReferenceTemperature() {
+        return inGround ? 20 : 30;
+    }
+
+    /**
+     * Looks up an installation method by its display name.
+     *
+     * @param label The display name.
+     * @return The installation method.
+     * @throws IllegalArgumentException if no installation method has this name.
+     */
+    public static InstallationMethod fromLabel(String label) {
+        for (InstallationMethod method : values()) {
+            if (method.label.equals(label)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException("Invalid installation method: " + label);
+    }
+}
@@ -0,0 +1,117 @@
+package de.fh.albsig.cablecrosssection;
+
+/**
+ * Result of solving a {@link RadialNetwork}: the current, size and voltage
+ * drop of the cable feeding each node.
+ */
+public final class NetworkSolution {
+
+    private final double[] currents;
+    private final double[] requiredCrossSections;
+    private final CableSize[] sizes;
+    private final double[] segmentDrops;
+    private final double[] cumulativeDrops;
+    private final int worstNode;
+    private final int unsizedSegments;
+
+    NetworkSolution(double[] currents, double[] requiredCrossSections, CableSize[] sizes,
+                    double[] segmentDrops, double[] cumulativeDrops) {
+        this.currents = currents;
+        this.requiredCrossSections = requiredCrossSections;
+        this.sizes = sizes;
+        this.segmentDrops = segmentDrops;
+        this.cumulativeDrops = cumulativeDrops;
+        int worst = RadialNetwork.SOURCE;
+        int unsized = 0;
+        for (int node = 1; node < cumulativeDrops.length; node++) {
+            if (cumulativeDrops[node] > cumulativeDrops[worst]) {
+                worst = node;
+            }
+            if (sizes[node] == null) {
+                unsized++;
+            }
+        }
+        this.worstNode = worst;
+        this.unsizedSegments = unsized;
+    }
+
+    /**
+     * Returns the current through the cable feeding a node, i.e. the sum of
+     * all loads at and below the node.
+     *
+     * @param node The node index.
+     * @return The current in amperes.
+     */
+    public double currentOf(int node) {
+        return currents[node];
+    }
+
+    /**
+     * Returns the cross-section the cable feeding a node needs for its share
+     * of the voltage drop budget.
+     *
+     * @param node The node index.
+     * @return The required cross-section in mm².
+     */
+    public double requiredCrossSectionOf(int node) {
+        return requiredCrossSections[node];
+    }
+
+    /**
+     * Returns the standard size chosen for the cable feeding a node.
+     *
+     * @param node The node index.
+     * @return The cable size, or null for the source and for segments that
+     *         exceed the largest standard size.
+     */
+    public CableSize sizeOf(int node) {
+        return sizes[node];
+    }
+
+    /**
+     * Returns the voltage drop along the cable feeding a node with the chosen size.
+     *
+     * @param node The node index.
+     * @return The drop in volts.
+     */
+    public double segmentDropOf(int node) {
+        return segmentDrops[node];
+    }
+
+    /**
+     * Returns the total voltage drop from the source to a node.
+     *
+     * @param node The node index.
+     * @return The drop in volts.
+     */
+    public double cumulativeDropOf(int node) {
+        return cumulativeDrops[node];
+    }
+
+    /**
+     * Returns the node with the highest voltage drop from the source.
+     *
+     * @return The node index.
+     */
+    public int getWorstNode() {
+        return worstNode;
+    }
+
+    /**
+     * Returns the highest voltage drop from the source to any node.
+     *
+     * @return The drop in volts.
+     */
+    public double getMaxDrop() {
+        return cumulativeDrops[worstNode];
+    }
+
+    /**
+     * Returns how many segments need more than the largest standard size.
+     *
+     * @return The number of segments without a standard size.
+     */
+    public int getUnsizedSegments() {
+        return unsizedSegments;
+    }
+}
@@ -0,0 +1,93 @@
+package de.fh.albsig.cablecrosssection;
+
+/**
+ * Assignment of single-phase loads to the phases L1, L2 and L3 of a
+ * three-phase feeder, as produced by {@link PhaseBalancer}.
+ */
+public final class PhaseAssignment {
+
+    private final int[] phases;
+    private final double[] phaseCurrents;
+
+    PhaseAssignment(int[] phases, double[] phaseCurrents) {
+        this.phases = phases;
+        this.phaseCurrents = phaseCurrents;
+    }
+
+    /**
+     * Returns the phase a load is connected to.
+     *
+     * @param load The index of the load in the input array.
+     * @return 0 for L1, 1 for L2, 2 for L3.
+     */
+    public int phaseOf(int load) {
+        return phases[load];
+    }
+
+    /**
+     * Returns the total current of a phase.
+     *
+     * @param phase 0 for L1, 1 for L2, 2 for L3.
+     * @return The current in amperes.
+     */
+    public double phaseCurrent(int phase) {
+        return phaseCurrents[phase];
+    }
+
+    /**
+     * Returns the current of the most loaded phase.
+     *
+     * @return The current in amperes.
+     */
+    public double getMaxPhaseCurrent() {
+        return Math.max(phaseCurrents[0], Math.max(phaseCurrents[1], phaseCurrents[2]));
+    }
+
+    /**
+     * Returns the current in the neutral conductor.
+     *
+     * @return The current in amperes.
+     */
+    public double getNeutralCurrent() {
+        return PhaseBalancer.neutralCurrent(phaseCurrents[0], phaseCurrents[1], phaseCurrents[2]);
+    }
+
+    /**
+     * Sizes the three-phase feeder for its most loaded phase.
+     *
+     * @param logic          The calculator logic.
+     * @param length         The cable length (L) in meters.
+     * @param voltage        The system voltage (U) in volts.
+     * @param cosPhi         The power factor (cos φ).
+     * @param material       The conductor material.
+     * @param voltageDrop    The allowable voltage drop (U_a) in volts.
+     * @return The required cross-section in mm².
+     */
+    public double computeCrossSection(CableCrossSectionCalculatorLogic logic, double length,
+                                      double voltage, double cosPhi, ConductorMaterial material,
+                                      double voltageDrop) {
+        return logic.computeThreePhaseCrossSection(length, getMaxPhaseCurrent(), voltage, cosPhi,
+                material, voltageDrop);
+    }
+
+    /**
+     * Computes the power loss of the feeder with its actual, unbalanced phase
+     * currents. {@link CableCrossSectionCalculatorLogic#computePowerLoss} covers
+     * an outgoing and a return conductor, so half of it is counted for each of
+     * L1, L2, L3 and the neutral.
+     *
+     * @param logic          The calculator logic.
+     * @param length         The cable length (L) in meters.
+     * @param material       The conductor material.
+     * @param crossSection   The cross-section of the cable (A) in mm².
+     * @return The power loss in watts.
+     */
+    public double computePowerLoss(CableCrossSectionCalculatorLogic logic, double length,
+                                   ConductorMaterial material, double crossSection) {
+        double loss = logic.computePowerLoss(length, getNeutralCurrent(), material, crossSection);
+        for (double current : phaseCurrents) {
+            loss += logic.computePowerLoss(length, current, material, crossSection);
+        }
+        return loss / 2;
+    }
+}
@@ -0,0 +1,257 @@
+package de.fh.albsig.cablecrosssection;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Distributes single-phase loads over the three phases of a distro output so
+ * that the most loaded phase and the neutral current are as small as possible.
+ *
+ * <p>The loads are first placed by the longest-processing-time heuristic:
+ * largest load first, each onto the phase with the smallest current. A local
+ * search then moves single loads to another phase or swaps two loads of
+ * different phases while that improves the result. Swap partners are found by
+ * binary search over the loads of the other phase, so one round costs
+ * O(n log n). Above {@link #PARALLEL_THRESHOLD} loads the candidates of a round
+ * are evaluated in parallel; ties are broken by load index and phase, so the
+ * result is the same as that of a sequential run.</p>
+ *
+ * <p>All loads are assumed to have the same power factor, so the neutral
+ * current is √(I1² + I2² + I3² − I1·I2 − I2·I3 − I1·I3).</p>
+ */
+public class PhaseBalancer {
+
+    private static final Logger logger = LogManager.getLogger(PhaseBalancer.class);
+
+    /** Number of loads from which the local search runs in parallel. */
+    public static final int PARALLEL_THRESHOLD = 1 << 12;
+
+    /** Upper bound of local search rounds, each of which applies one improvement. */
+    static final int MAX_ROUNDS = 10_000;
+
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Balances loads with the heuristic and the local search.
+     *
+     * @param loads The load currents in amperes.
+     * @return The assignment of every load to a phase.
+     */
+    public PhaseAssignment balance(double[] loads) {
+        return balance(loads, true);
+    }
+
+    /**
+     * Balances loads.
+     *
+     * @param loads        The load currents in amperes.
+     * @param localSearch  Whether to improve the heuristic result by local search.
+     * @return The assignment of every load to a phase.
+     */
+    public PhaseAssignment balance(double[] loads, boolean localSearch) {
+        for (int i = 0; i < loads.length; i++) {
+            if (!(loads[i] >= 0)) {
+                logger.info("Illegal load entered at index {}", i);
+                throw new IllegalArgumentException("Load must be non-negative at index " + i);
+            }
+        }
+        int[] ascending = sortAscending(loads);
+        int[] phases = new int[loads.length];
+        double[] sums = new double[3];
+
+        // Largest load first onto the least loaded phase
+        for (int k = ascending.length - 1; k >= 0; k--) {
+            int load = ascending[k];
+            int phase = lightestPhase(sums);
+            phases[load] = phase;
+            sums[phase] += loads[load];
+        }
+        if (localSearch) {
+            improve(loads, ascending, phases, sums, loads.length >= PARALLEL_THRESHOLD);
+        }
+        return new PhaseAssignment(phases, sums);
+    }
+
+    /**
+     * Computes the neutral current of three phase currents with equal power
+     * factors.
+     *
+     * @param i1 The current of L1 in amperes.
+     * @param i2 The current of L2 in amperes.
+     * @param i3 The current of L3 in amperes.
+     * @return The neutral current in amperes.
+     */
+    public static double neutralCurrent(double i1, double i2, double i3) {
+        double square = i1 * i1 + i2 * i2 + i3 * i3 - i1 * i2 - i2 * i3 - i1 * i3;
+        return Math.sqrt(Math.max(square, 0));
+    }
+
+    /**
+     * One improving step: move {@code load} to {@code target}, and if
+     * {@code partner} is not -1, move {@code partner} to the phase of
+     * {@code load}.
+     */
+    private record Move(int load, int partner, int target, double maxPhase, double neutral) {
+
+        static final Move NONE = new Move(-1, -1, -1, Double.MAX_VALUE, Double.MAX_VALUE);
+
+        /**
+         * Total order of moves: the most loaded phase, then the neutral current,
+         * then load, target phase and partner to break ties. Being a total order,
+         * the best move does not depend on how a parallel reduction splits the
+         * candidates.
+         */
+        static final Comparator<Move> ORDER = Comparator.comparingDouble(Move::maxPhase)
+                .thenComparingDouble(Move::neutral)
+                .thenComparingInt(Move::load)
+                .thenComparingInt(Move::target)
+                .thenComparingInt(Move::partner);
+    }
+
+    private static void improve(double[] loads, int[] ascending, int[] phases, double[] sums,
+                                boolean parallel) {
+        // Loads of each phase in ascending order, for the swap partner search
+        int[][] members = new int[3][];
+        double[][] memberLoads = new double[3][];
+        for (int phase = 0; phase < 3; phase++) {
+            collect(loads, ascending, phases, phase, members, memberLoads);
+        }
+
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            double maxPhase = max(sums[0], sums[1], sums[2]);
+            double neutral = neutralCurrent(sums[0], sums[1], sums[2]);
+            IntStream candidates = IntStream.range(0, loads.length);
+            if (parallel) {
+                candidates = candidates.parallel();
+            }
+            Move best = candidates
+                    .mapToObj(load -> bestMove(load, loads, phases, sums, members, memberLoads))
+                    .min(Move.ORDER)
+                    .orElse(Move.NONE);
+            if (best == Move.NONE || !isBetter(best.maxPhase, best.neutral, maxPhase, neutral)) {
+                return;
+            }
+            int source = phases[best.load];
+            phases[best.load] = best.target;
+            sums[source] -= loads[best.load];
+            sums[best.target] += loads[best.load];
+            if (best.partner >= 0) {
+                phases[best.partner] = source;
+                sums[best.target] -= loads[best.partner];
+                sums[source] += loads[best.partner];
+            }
+            collect(loads, ascending, phases, source, members, memberLoads);
+            collect(loads, ascending, phases, best.target, members, memberLoads);
+        }
+    }
+
+    private static Move bestMove(int load, double[] loads, int[] phases, double[] sums,
+                                 int[][] members, double[][] memberLoads) {
+        int source = phases[load];
+        double current = loads[load];
+        Move best = Move.NONE;
+        for (int target = 0; target < 3; target++) {
+            if (target == source) {
+                continue;
+            }
+            best = consider(best, load, -1, source, target, current, sums);
+
+            // The swap that evens out the two phases best exchanges a load of
+            // about current - (source sum - target sum) / 2
+            double wanted = current - (sums[source] - sums[target]) / 2;
+            double[] candidates = memberLoads[target];
+            int position = Arrays.binarySearch(candidates, wanted);
+            if (position < 0) {
+                position = -position - 1;
+            }
+            for (int k = Math.max(position - 1, 0); k <= position && k < candidates.length; k++) {
+                if (candidates[k] != current) {
+                    best = consider(best, load, members[target][k], source, target,
+                            current - candidates[k], sums);
+                }
+            }
+        }
+        return best;
+    }
+
+    private static Move consider(Move best, int load, int partner, int source, int target,
+                                 double transfer, double[] sums) {
+        double i1 = shifted(sums, 0, source, target, transfer);
+        double i2 = shifted(sums, 1, source, target, transfer);
+        double i3 = shifted(sums, 2, source, target, transfer);
+        Move move = new Move(load, partner, target, max(i1, i2, i3), neutralCurrent(i1, i2, i3));
+        return Move.ORDER.compare(move, best) < 0 ? move : best;
+    }
+
+    /**
+     * The current of {@code phase} after {@code transfer} amperes went from
+     * {@code source} to {@code target}.
+     */
+    private static double shifted(double[] sums, int phase, int source, int target,
+                                  double transfer) {
+        if (phase == source) {
+            return sums[phase] - transfer;
+        }
+        return phase == target ? sums[phase] + transfer : sums[phase];
+    }
+
+    /**
+     * Compares by the most loaded phase first and the neutral current second,
+     * ignoring differences below {@link #EPSILON}. Only used to decide whether
+     * the best move still improves the current state.
+     */
+    private static boolean isBetter(double maxPhase, double neutral,
+                                    double otherMaxPhase, double otherNeutral) {
+        if (maxPhase < otherMaxPhase - EPSILON) {
+            return true;
+        }
+        return maxPhase <= otherMaxPhase + EPSILON && neutral < otherNeutral - EPSILON;
+    }
+
+    private static void collect(double[] loads, int[] ascending, int[] phases, int phase,
+                                int[][] members, double[][] memberLoads) {
+        int count = 0;
+        for (int load : ascending) {
+            if (phases[load] == phase) {
+                count++;
+            }
+        }
+        int[] indices = new int[count];
+        double[] values = new double[count];
+        int k = 0;
+        for (int load : ascending) {
+            if (phases[load] == phase) {
+                indices[k] = load;
+                values[k] = loads[load];
+                k++;
+            }
+        }
+        members[phase] = indices;
+        memberLoads[phase] = values;
+    }
+
+    private static int[] sortAscending(double[] loads) {
+        return IntStream.range(0, loads.length)
+                .boxed()
+                .sorted(Comparator.comparingDouble(load -> loads[load]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static int lightestPhase(double[] sums) {
+        int lightest = 0;
+        for (int phase = 1; phase < 3; phase++) {
+            if (sums[phase] < sums[lightest]) {
+                lightest = phase;
+            }
+        }
+        return lightest;
+    }
+
+    private static double max(double a, double b, double c) {
+        return Math.max(a, Math.max(b, c));
+    }
+}
@@ -0,0 +1,101 @@
+package de.fh.albsig.cablecrosssection;
+
+import java.util.Arrays;
+
+/**
+ * A radial power distribution tree: a source (e.g., a generator) feeding
+ * distribution boards and end loads through cables.
+ *
+ * <p>Nodes are stored in flat arrays indexed by node number. Node 0 is the
+ * source; every other node is connected to its parent by one cable segment.
+ * Because a node can only be added below an existing node, parents always
+ * have lower numbers than their children, which lets the solver walk the tree
+ * with plain loops instead of recursion.</p>
+ */
+public class RadialNetwork {
+
+    /** Index of the source node. */
+    public static final int SOURCE = 0;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] parents = new int[INITIAL_CAPACITY];
+    private double[] lengths = new double[INITIAL_CAPACITY];
+    private double[] loads = new double[INITIAL_CAPACITY];
+    private int size = 1;
+
+    /**
+     * Creates a network containing only the source node.
+     */
+    public RadialNetwork() {
+        parents[SOURCE] = -1;
+    }
+
+    /**
+     * Adds a node connected to an existing node by a cable.
+     *
+     * @param parent      The node feeding the new node.
+     * @param cableLength The length of the cable from the parent in meters.
+     * @param loadCurrent The current drawn by the node itself in amperes
+     *                    (0 for a pure distribution board).
+     * @return The index of the new node.
+     * @throws IllegalArgumentException if the parent does not exist or a value is negative.
+     */
+    public int addNode(int parent, double cableLength, double loadCurrent) {
+        if (parent < 0 || parent >= size) {
+            throw new IllegalArgumentException("Unknown parent node: " + parent);
+        }
+        if (cableLength < 0 || loadCurrent < 0) {
+            throw new IllegalArgumentException("Cable length and load must not be negative");
+        }
+        if (size == parents.length) {
+            int capacity = size * 2;
+            parents = Arrays.copyOf(parents, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            loads = Arrays.copyOf(loads, capacity);
+        }
+        parents[size] = parent;
+        lengths[size] = cableLength;
+        loads[size] = loadCurrent;
+        return size++;
+    }
+
+    /**
+     * Returns the number of nodes, including the source.
+     *
+     * @return The node count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the parent of a node.
+     *
+     * @param node The node index.
+     * @return The parent index, -1 for the source.
+     */
+    public int parentOf(int node) {
+        return parents[node];
+    }
+
+    /**
+     * Returns the length of the cable feeding a node.
+     *
+     * @param node The node index.
+     * @return The cable length in meters, 0 for the source.
+     */
+    public double cableLengthOf(int node) {
+        return lengths[node];
+    }
+
+    /**
+     * Returns the current drawn by a node itself.
+     *
+     * @param node The node index.
+     * @return The load current in amperes.
+     */
+    public double loadOf(int node) {
+        return loads[node];
+    }
+}
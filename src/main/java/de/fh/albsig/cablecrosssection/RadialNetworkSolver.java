@@ -0,0 +1,113 @@
+package de.fh.albsig.cablecrosssection;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Sizes every cable of a {@link RadialNetwork} so that the voltage drop from
+ * the source to each node stays within a budget.
+ *
+ * <p>The solver makes two linear passes over the node arrays:</p>
+ * <ol>
+ *   <li>Upward (children before parents): sums the loads into the current of
+ *   every segment and finds the longest source-to-leaf path through it.</li>
+ *   <li>Downward (parents before children): gives each segment the share
+ *   {@code length / longest path} of the drop budget, so no path can exceed the
+ *   budget, and sizes it with the single-phase or three-phase formula of
+ *   {@link CableCrossSectionCalculatorLogic} and the IEC 60228 table, using the
+ *   ampacity of the conductor material. The same pass computes the actual drop
+ *   of the chosen size and accumulates it along the path, since the parent's
+ *   drop is already known.</li>
+ * </ol>
+ * <p>DC networks use the single-phase formula with cos φ = 1.</p>
+ */
+public class RadialNetworkSolver {
+
+    private static final Logger logger = LogManager.getLogger(RadialNetworkSolver.class);
+
+    private final CableCrossSectionCalculatorLogic logic = new CableCrossSectionCalculatorLogic();
+
+    /**
+     * Solves a network.
+     *
+     * @param network     The network to size.
+     * @param systemType  The type of electrical system.
+     * @param voltage     The system voltage (U) in volts.
+     * @param cosPhi      The power factor (cos φ), ignored for DC.
+     * @param material    The conductor material of all cables.
+     * @param dropBudget  The allowable voltage drop (U_a) from the source to any node in volts.
+     * @return The currents, sizes and voltage drops of all segments.
+     */
+    public NetworkSolution solve(RadialNetwork network, SystemType systemType, double voltage,
+                                 double cosPhi, ConductorMaterial material, double dropBudget) {
+        if (dropBudget <= 0) {
+            logger.info("Illegal voltage drop budget entered");
+            throw new IllegalArgumentException("Voltage drop budget must be positive");
+        }
+        int size = network.size();
+        double effectiveCosPhi = systemType == SystemType.DC ? 1.0 : cosPhi;
+
+        // Upward pass: segment currents and longest path below each node
+        double[] currents = new double[size];
+        double[] longestBelow = new double[size];
+        for (int node = size - 1; node > RadialNetwork.SOURCE; node--) {
+            currents[node] += network.loadOf(node);
+            int parent = network.parentOf(node);
+            currents[parent] += currents[node];
+            longestBelow[parent] = Math.max(longestBelow[parent],
+                    longestBelow[node] + network.cableLengthOf(node));
+        }
+        currents[RadialNetwork.SOURCE] += network.loadOf(RadialNetwork.SOURCE);
+
+        // Downward pass: split the drop budget and size each segment
+        double[] pathLengths = new double[size];
+        double[] required = new double[size];
+        CableSize[] sizes = new CableSize[size];
+        double[] segmentDrops = new double[size];
+        double[] cumulativeDrops = new double[size];
+        for (int node = 1; node < size; node++) {
+            double length = network.cableLengthOf(node);
+            int parent = network.parentOf(node);
+            pathLengths[node] = pathLengths[parent] + length;
+            double longestPath = pathLengths[node] + longestBelow[node];
+            if (length == 0 || currents[node] == 0) {
+                // No voltage drop; the cable only has to carry the current
+                sizes[node] = StandardCableSizes.smallestCovering(
+                        StandardCableSizes.MIN_POWER_CIRCUIT_SIZE, currents[node], material);
+                cumulativeDrops[node] = cumulativeDrops[parent];
+                continue;
+            }
+            double allowedDrop = dropBudget * length / longestPath;
+            required[node] = crossSection(systemType, length, currents[node], voltage,
+                    effectiveCosPhi, material, allowedDrop);
+            sizes[node] = StandardCableSizes.smallestCovering(
+                    Math.max(required[node], StandardCableSizes.MIN_POWER_CIRCUIT_SIZE),
+                    currents[node], material);
+
+            // The formula is symmetric in A and U_a, so the same method gives the drop
+            double installed = sizes[node] != null ? sizes[node].crossSection() : required[node];
+            segmentDrops[node] = crossSection(systemType, length, currents[node], voltage,
+                    effectiveCosPhi, material, installed);
+            cumulativeDrops[node] = cumulativeDrops[parent] + segmentDrops[node];
+        }
+
+        NetworkSolution solution = new NetworkSolution(currents, required, sizes,
+                segmentDrops, cumulativeDrops);
+        if (solution.getUnsizedSegments() > 0) {
+            logger.warn("{} segments exceed the largest standard cable size.",
+                    solution.getUnsizedSegments());
+        }
+        return solution;
+    }
+
+    private double crossSection(SystemType systemType, double length, double current,
+                                double voltage, double cosPhi, ConductorMaterial material,
+                                double voltageDrop) {
+        if (systemType == SystemType.AC_THREE_PHASE) {
+            return logic.computeThreePhaseCrossSection(length, current, voltage, cosPhi,
+                    material, voltageDrop);
+        }
+        return logic.computeSinglePhaseCrossSection(length, current, cosPhi, material,
+                voltageDrop);
+    }
+}
@@ -0,0 +1,181 @@
+package de.fh.albsig.cablecrosssection;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Table of the standard conductor cross-sections of IEC 60228 from 0.5 to 630 mm².
+ *
+ * <p>The nominal sizes are kept in a sorted primitive array, so the smallest
+ * size covering a required cross-section is found by binary search in
+ * O(log n). Results are shared {@link CableSize} instances; a lookup does not
+ * allocate.</p>
+ *
+ * <p>Ampacities are reference values for copper conductors with PVC insulation,
+ * installation method C and two loaded conductors at 30 °C (IEC 60364-5-52);
+ * values below 1.5 mm² and above 300 mm² are extrapolated. Aluminum
+ * conductors carry {@link #ALUMINUM_AMPACITY_RATIO} of the copper value; the
+ * lookups taking a {@link ConductorMaterial} apply that ratio. Costs are rough
+ * planning figures.</p>
+ */
+public final class StandardCableSizes {
+
+    /** Smallest cross-section permitted for fixed power circuits (IEC 60364-5-52). */
+    public static final double MIN_POWER_CIRCUIT_SIZE = 1.5;
+
+    /** Ampacity of aluminum conductors relative to copper of the same size. */
+    public static final double ALUMINUM_AMPACITY_RATIO = 0.78;
+
+    private static final CableSize[] SIZES = {
+        size(0.5, 9, 36.0, 0.25),
+        size(0.75, 12, 24.5, 0.30),
+        size(1.0, 15, 18.1, 0.35),
+        size(1.5, 19.5, 12.1, 0.45),
+        size(2.5, 27, 7.41, 0.65),
+        size(4.0, 36, 4.61, 0.95),
+        size(6.0, 46, 3.08, 1.35),
+        size(10.0, 63, 1.83, 2.20),
+        size(16.0, 85, 1.15, 3.40),
+        size(25.0, 112, 0.727, 5.20),
+        size(35.0, 138, 0.524, 7.20),
+        size(50.0, 168, 0.387, 10.10),
+        size(70.0, 213, 0.268, 14.00),
+        size(95.0, 258, 0.193, 19.00),
+        size(120.0, 299, 0.153, 24.00),
+        size(150.0, 344, 0.124, 30.00),
+        size(185.0, 392, 0.0991, 37.00),
+        size(240.0, 461, 0.0754, 48.00),
+        size(300.0, 530, 0.0601, 60.00),
+        size(400.0, 634, 0.0470, 80.00),
+        size(500.0, 724, 0.0366, 100.00),
+        size(630.0, 835, 0.0283, 126.00)
+    };
+
+    private static final double[] CROSS_SECTIONS = new double[SIZES.length];
+
+    private static final List<CableSize> ALL = List.of(SIZES);
+
+    static {
+        for (int i = 0; i < SIZES.length; i++) {
+            CROSS_SECTIONS[i] = SIZES[i].crossSection();
+        }
+    }
+
+    private StandardCableSizes() {
+    }
+
+    private static CableSize size(double crossSection, double ampacity,
+                                  double resistanceOhmPerKm, double costPerMetre) {
+        return new CableSize(crossSection, ampacity, resistanceOhmPerKm, costPerMetre,
+                crossSection + " mm²");
+    }
+
+    /**
+     * Returns all standard sizes, smallest first.
+     *
+     * @return The sizes.
+     */
+    public static List<CableSize> all() {
+        return ALL;
+    }
+
+    /**
+     * Returns the largest standard size.
+     *
+     * @return The 630 mm² size.
+     */
+    public static CableSize largest() {
+        return SIZES[SIZES.length - 1];
+    }
+
+    /**
+     * Finds the smallest standard size whose cross-section is at least the
+     * required one.
+     *
+     * @param crossSection The required cross-section in mm².
+     * @return The standard size, or null if more than 630 mm² are required.
+     */
+    public static CableSize smallestCovering(double crossSection) {
+        int index = indexOf(crossSection);
+        return index < SIZES.length ? SIZES[index] : null;
+    }
+
+    /**
+     * Finds the smallest standard size that has at least the required
+     * cross-section and can carry the given current.
+     *
+     * @param crossSection The required cross-section in mm².
+     * @param current      The load current in amperes.
+     * @return The standard size, or null if no size is large enough.
+     */
+    public static CableSize smallestCovering(double crossSection, double current) {
+        int index = smallestCoveringIndex(crossSection, current);
+        return index >= 0 ? SIZES[index] : null;
+    }
+
+    /**
+     * Finds the smallest standard size that has at least the required
+     * cross-section and can carry the given current in a conductor of the
+     * given material.
+     *
+     * @param crossSection The required cross-section in mm².
+     * @param current      The load current in amperes.
+     * @param material     The conductor material.
+     * @return The standard size, or null if no size is large enough.
+     */
+    public static CableSize smallestCovering(double crossSection, double current,
+                                             ConductorMaterial material) {
+        int index = smallestCoveringIndex(crossSection, current, material);
+        return index >= 0 ? SIZES[index] : null;
+    }
+
+    /**
+     * Returns the factor by which the copper reference ampacities are
+     * multiplied for a conductor material.
+     *
+     * @param material The conductor material.
+     * @return 1 for copper, {@link #ALUMINUM_AMPACITY_RATIO} for aluminum.
+     */
+    public static double ampacityRatio(ConductorMaterial material) {
+        return material == ConductorMaterial.ALUMINUM ? ALUMINUM_AMPACITY_RATIO : 1.0;
+    }
+
+    /**
+     * Returns the table index of
+     * {@link #smallestCovering(double, double, ConductorMaterial)}, or -1 if no
+     * size is large enough.
+     */
+    static int smallestCoveringIndex(double crossSection, double current,
+                                     ConductorMaterial material) {
+        return smallestCoveringIndex(crossSection, current / ampacityRatio(material));
+    }
+
+    /**
+     * Returns the table index of {@link #smallestCovering(double, double)}, or
+     * -1 if no size is large enough.
+     */
+    static int smallestCoveringIndex(double crossSection, double current) {
+        for (int i = indexOf(crossSection); i < SIZES.length; i++) {
+            if (SIZES[i].ampacity() >= current) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the size at a table index, smallest first.
+     */
+    static CableSize get(int index) {
+        return SIZES[index];
+    }
+
+    /**
+     * Returns the index of the first size whose cross-section is at least the
+     * given one, or the table length if there is none.
+     */
+    private static int indexOf(double crossSection) {
+        int index = Arrays.binarySearch(CROSS_SECTIONS, crossSection);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,110 @@
+package de.fh.albsig.cablecrosssection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Standard nominal voltages offered per system type.
+ */
+public enum StandardVoltage {
+
+    /** 110 V single-phase mains, e.g. site transformers. */
+    V110(110, SystemType.AC_SINGLE_PHASE),
+    /** 220 V single-phase mains of older installations. */
+    V220(220, SystemType.AC_SINGLE_PHASE),
+    /** 230 V single-phase mains. */
+    V230(230, SystemType.AC_SINGLE_PHASE),
+    /** 380 V three-phase mains of older installations. */
+    V380(380, SystemType.AC_THREE_PHASE),
+    /** 400 V three-phase mains. */
+    V400(400, SystemType.AC_THREE_PHASE),
+    /** 415 V three-phase mains. */
+    V415(415, SystemType.AC_THREE_PHASE),
+    /** 12 V DC, e.g. batteries and LED fixtures. */
+    V12(12, SystemType.DC),
+    /** 24 V DC. */
+    V24(24, SystemType.DC),
+    /** 48 V DC. */
+    V48(48, SystemType.DC);
+
+    private static final Map<String, StandardVoltage> BY_LABEL = new HashMap<>();
+    private static final Map<SystemType, List<StandardVoltage>> BY_SYSTEM =
+            new EnumMap<>(SystemType.class);
+
+    static {
+        for (SystemType type : SystemType.values()) {
+            BY_SYSTEM.put(type, new ArrayList<>());
+        }
+        for (StandardVoltage voltage : values()) {
+            BY_LABEL.put(voltage.label, voltage);
+            BY_SYSTEM.get(voltage.systemType).add(voltage);
+        }
+        BY_SYSTEM.replaceAll((type, voltages) -> Collections.unmodifiableList(voltages));
+    }
+
+    private final double volts;
+    private final SystemType systemType;
+    private final String label;
+
+    StandardVoltage(int volts, SystemType systemType) {
+        this.volts = volts;
+        this.systemType = systemType;
+        this.label = volts + "V";
+    }
+
+    /**
+     * Returns the nominal voltage.
+     *
+     * @return The voltage in volts.
+     */
+    public double getVolts() {
+        return volts;
+    }
+
+    /**
+     * Returns the system type this voltage belongs to.
+     *
+     * @return The system type.
+     */
+    public SystemType getSystemType() {
+        return systemType;
+    }
+
+    /**
+     * Returns the display name used in the UI (e.g., "230V").
+     *
+     * @return The label.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns the standard voltages of a system type, lowest first.
+     *
+     * @param systemType The system type.
+     * @return The voltages.
+     */
+    public static List<StandardVoltage> forSystem(SystemType systemType) {
+        return BY_SYSTEM.get(systemType);
+    }
+
+    /**
+     * Looks up a standard voltage by its display name.
+     *
+     * @param label The voltage selection (e.g., "230V").
+     * @return The standard voltage.
+     * @throws IllegalArgumentException if the label is not a standard voltage.
+     */
+    public static StandardVoltage fromLabel(String label) {
+        StandardVoltage voltage = BY_LABEL.get(label);
+        if (voltage == null) {
+            throw new IllegalArgumentException("Invalid voltage selection");
+        }
+        return voltage;
+    }
+}
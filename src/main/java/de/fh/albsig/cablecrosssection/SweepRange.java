@@ -0,0 +1,67 @@
+package de.fh.albsig.cablecrosssection;
+
+/**
+ * Evenly spaced values of one sweep parameter, both ends included.
+ *
+ * @param start  The first value.
+ * @param end    The last value.
+ * @param steps  The number of values.
+ */
+public record SweepRange(double start, double end, int steps) {
+
+    /**
+     * Validates the range.
+     *
+     * @throws IllegalArgumentException if a bound is not finite or there are no steps,
+     *                                  or a single step has different bounds.
+     */
+    public SweepRange {
+        if (!Double.isFinite(start) || !Double.isFinite(end)) {
+            throw new IllegalArgumentException("Range bounds must be finite");
+        }
+        if (steps < 1 || (steps == 1 && start != end)) {
+            throw new IllegalArgumentException("Illegal number of steps: " + steps);
+        }
+    }
+
+    /**
+     * Creates a range of a single value.
+     *
+     * @param value The value.
+     * @return The range.
+     */
+    public static SweepRange single(double value) {
+        return new SweepRange(value, value, 1);
+    }
+
+    /**
+     * Returns a value of the range.
+     *
+     * @param step The step, from 0 to {@code steps - 1}.
+     * @return The value.
+     */
+    public double valueAt(int step) {
+        if (step == steps - 1) {
+            return end;
+        }
+        return start + (end - start) * step / (steps - 1);
+    }
+
+    /**
+     * Returns the smaller bound.
+     *
+     * @return The minimum value.
+     */
+    public double min() {
+        return Math.min(start, end);
+    }
+
+    /**
+     * Returns the larger bound.
+     *
+     * @return The maximum value.
+     */
+    public double max() {
+        return Math.max(start, end);
+    }
+}
@@ -0,0 +1,267 @@
+package de.fh.albsig.cablecrosssection;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Results of a {@link CableSweep}, one row per parameter combination.
+ *
+ * <p>The results are kept in columns of primitive arrays instead of one
+ * object per combination: the required cross-section, power loss and cost as
+ * floats and the standard size as a byte index into
+ * {@link StandardCableSizes#all()}, 13 bytes per row. The parameters are not
+ * stored; they are decoded from the row number.</p>
+ *
+ * <p>Length, current and power factor describe what a cable has to supply and
+ * form a scenario; material, voltage and allowable voltage drop are the
+ * options to choose from. The rows of one scenario are contiguous, and each
+ * scenario has its own Pareto front of options.</p>
+ */
+public final class SweepResult {
+
+    private final ConductorMaterial[] materials;
+    private final StandardVoltage[] voltages;
+    private final SweepRange lengths;
+    private final SweepRange currents;
+    private final SweepRange voltageDrops;
+    private final SweepRange cosPhis;
+    private final int optionsPerScenario;
+
+    final float[] requiredCrossSections;
+    final byte[] sizeIndices;
+    final float[] powerLosses;
+    final float[] costs;
+    final int[][] paretoFronts;
+
+    SweepResult(List<ConductorMaterial> materials, List<StandardVoltage> voltages,
+                SweepRange lengths, SweepRange currents, SweepRange voltageDrops,
+                SweepRange cosPhis, int size) {
+        this.materials = materials.toArray(new ConductorMaterial[0]);
+        this.voltages = voltages.toArray(new StandardVoltage[0]);
+        this.lengths = lengths;
+        this.currents = currents;
+        this.voltageDrops = voltageDrops;
+        this.cosPhis = cosPhis;
+        this.optionsPerScenario = materials.size() * voltages.size() * voltageDrops.steps();
+        this.requiredCrossSections = new float[size];
+        this.sizeIndices = new byte[size];
+        this.powerLosses = new float[size];
+        this.costs = new float[size];
+        this.paretoFronts = new int[size / optionsPerScenario][];
+    }
+
+    /**
+     * Returns the number of evaluated combinations.
+     *
+     * @return The number of rows.
+     */
+    public int size() {
+        return costs.length;
+    }
+
+    /**
+     * Returns the number of scenarios, i.e. combinations of length, current
+     * and power factor.
+     *
+     * @return The number of scenarios.
+     */
+    public int scenarioCount() {
+        return paretoFronts.length;
+    }
+
+    /**
+     * Returns the number of options evaluated per scenario, i.e. combinations
+     * of material, voltage and allowable voltage drop.
+     *
+     * @return The number of rows per scenario.
+     */
+    public int optionsPerScenario() {
+        return optionsPerScenario;
+    }
+
+    /**
+     * Returns the scenario of given parameter steps.
+     *
+     * @param lengthStep   The step of the length range.
+     * @param currentStep  The step of the current range.
+     * @param cosPhiStep   The step of the power factor range.
+     * @return The scenario.
+     */
+    public int scenarioOf(int lengthStep, int currentStep, int cosPhiStep) {
+        return (lengthStep * currents.steps() + currentStep) * cosPhis.steps() + cosPhiStep;
+    }
+
+    /**
+     * Returns the scenario a combination belongs to.
+     *
+     * @param row The row.
+     * @return The scenario.
+     */
+    public int scenarioOf(int row) {
+        return row / optionsPerScenario;
+    }
+
+    /**
+     * Returns the cable length of a combination.
+     *
+     * @param row The row.
+     * @return The length in meters.
+     */
+    public double lengthOf(int row) {
+        return lengths.valueAt(scenarioOf(row) / (currents.steps() * cosPhis.steps()));
+    }
+
+    /**
+     * Returns the current of a combination.
+     *
+     * @param row The row.
+     * @return The current in amperes.
+     */
+    public double currentOf(int row) {
+        return currents.valueAt(scenarioOf(row) / cosPhis.steps() % currents.steps());
+    }
+
+    /**
+     * Returns the power factor of a combination; DC combinations are computed
+     * with cos φ = 1 regardless.
+     *
+     * @param row The row.
+     * @return The power factor.
+     */
+    public double cosPhiOf(int row) {
+        return cosPhis.valueAt(scenarioOf(row) % cosPhis.steps());
+    }
+
+    /**
+     * Returns the conductor material of a combination.
+     *
+     * @param row The row.
+     * @return The material.
+     */
+    public ConductorMaterial materialOf(int row) {
+        int option = row % optionsPerScenario;
+        return materials[option / (voltages.length * voltageDrops.steps())];
+    }
+
+    /**
+     * Returns the standard voltage of a combination.
+     *
+     * @param row The row.
+     * @return The voltage.
+     */
+    public StandardVoltage voltageOf(int row) {
+        int option = row % optionsPerScenario;
+        return voltages[option / voltageDrops.steps() % voltages.length];
+    }
+
+    /**
+     * Returns the allowable voltage drop of a combination.
+     *
+     * @param row The row.
+     * @return The voltage drop in volts.
+     */
+    public double voltageDropOf(int row) {
+        return voltageDrops.valueAt(row % voltageDrops.steps());
+    }
+
+    /**
+     * Returns the calculated cross-section of a combination.
+     *
+     * @param row The row.
+     * @return The cross-section in mm².
+     */
+    public double requiredCrossSectionOf(int row) {
+        return requiredCrossSections[row];
+    }
+
+    /**
+     * Returns the standard size chosen for a combination.
+     *
+     * @param row The row.
+     * @return The size, or null if no standard size is large enough.
+     */
+    public CableSize sizeOf(int row) {
+        return sizeIndices[row] >= 0 ? StandardCableSizes.get(sizeIndices[row]) : null;
+    }
+
+    /**
+     * Returns the power loss of a combination with its standard size.
+     *
+     * @param row The row.
+     * @return The power loss in watts, or NaN if the combination is unsized.
+     */
+    public double powerLossOf(int row) {
+        return powerLosses[row];
+    }
+
+    /**
+     * Returns the cable cost of a combination with its standard size.
+     *
+     * @param row The row.
+     * @return The cost in €, or NaN if the combination is unsized.
+     */
+    public double costOf(int row) {
+        return costs[row];
+    }
+
+    /**
+     * Returns the Pareto-optimal options of a scenario: those for which no
+     * other option of the same length, current and power factor has a standard
+     * size, power loss and cost that are all at most as large and at least one
+     * smaller. Of equal options only the first is included; unsized options
+     * never are.
+     *
+     * @param scenario The scenario.
+     * @return The rows, in ascending order.
+     */
+    public int[] paretoFront(int scenario) {
+        return paretoFronts[scenario].clone();
+    }
+
+    /**
+     * Returns whether row {@code a} makes row {@code b} redundant in the
+     * Pareto front.
+     */
+    boolean covers(int a, int b) {
+        if (sizeIndices[a] > sizeIndices[b] || powerLosses[a] > powerLosses[b]
+                || costs[a] > costs[b]) {
+            return false;
+        }
+        return sizeIndices[a] < sizeIndices[b] || powerLosses[a] < powerLosses[b]
+                || costs[a] < costs[b] || a < b;
+    }
+
+    /**
+     * A growing set of mutually non-dominated rows.
+     */
+    final class Front {
+
+        private int[] rows = new int[16];
+        private int count;
+
+        void offer(int row) {
+            for (int i = 0; i < count; i++) {
+                if (covers(rows[i], row)) {
+                    return;
+                }
+            }
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                if (!covers(row, rows[i])) {
+                    rows[kept++] = rows[i];
+                }
+            }
+            count = kept;
+            if (count == rows.length) {
+                rows = Arrays.copyOf(rows, count * 2);
+            }
+            rows[count++] = row;
+        }
+
+        int[] toSortedArray() {
+            int[] sorted = Arrays.copyOf(rows, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package de.fh.albsig.cablecrosssection;
+
+/**
+ * Types of electrical systems a cable can be sized for.
+ */
+public enum SystemType {
+
+    /** Alternating current, single phase. */
+    AC_SINGLE_PHASE("AC Single-phase"),
+
+    /** Alternating current, three phases. */
+    AC_THREE_PHASE("AC Three-phase"),
+
+    /** Direct current. */
+    DC("DC");
+
+    private final String label;
+
+    SystemType(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the display name used in the UI (e.g., "AC Single-phase").
+     *
+     * @return The label.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns whether this is an alternating current system.
+     *
+     * @return true for single- and three-phase AC.
+     */
+    public boolean isAlternatingCurrent() {
+        return this != DC;
+    }
+
+    /**
+     * Looks up a system type by its display name.
+     *
+     * @param label The display name.
+     * @return The system type.
+     * @throws IllegalArgumentException if no system type has this name.
+     */
+    public static SystemType fromLabel(String label) {
+        for (SystemType type : values()) {
+            if (type.label.equals(label)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Invalid system type: " + label);
+    }
+}
@@ -0,0 +1,42 @@
+package de.fh.albsig.database;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A generator stored in the {@code Aggregate} table.
+ *
+ * @param name the name of the generator
+ * @param fuelCap the fuel capacity
+ * @param consumption the fuel consumption
+ * @param powerOutput the power output
+ */
+public record Aggregate(String name, double fuelCap, double consumption, double powerOutput) {
+
+    /** Name of the table generators are stored in. */
+    public static final String TABLE = "Aggregate";
+
+    /** Columns read by {@link #MAPPER}, in select order. */
+    public static final String COLUMNS = "name, fuel_cap, consumption, power_output";
+
+    /**
+     * Maps a row selected with {@link #COLUMNS} to an {@code Aggregate}. The
+     * column positions are resolved once per query.
+     */
+    public static final RowMapper<Aggregate> MAPPER = new RowMapper<>() {
+        @Override
+        public Aggregate map(ResultSet rs, ColumnIndex columns) throws SQLException {
+            return bind(columns).read(rs);
+        }
+
+        @Override
+        public Reader<Aggregate> bind(ColumnIndex columns) {
+            int name = columns.indexOf("name");
+            int fuelCap = columns.indexOf("fuel_cap");
+            int consumption = columns.indexOf("consumption");
+            int powerOutput = columns.indexOf("power_output");
+            return rs -> new Aggregate(rs.getString(name), rs.getDouble(fuelCap),
+                    rs.getDouble(consumption), rs.getDouble(powerOutput));
+        }
+    };
+}
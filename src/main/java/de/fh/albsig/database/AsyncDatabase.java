@@ -0,0 +1,273 @@
+package de.fh.albsig.database;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javafx.application.Platform;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Asynchronous facade over {@link SqliteHelperMain} for use from JavaFX controllers.
+ *
+ * <p>All writes run on one dedicated writer thread, matching SQLite's single-writer
+ * model, so they are applied in submission order and never contend for the write
+ * lock. Reads run on a small pool of reader threads sized like the connection
+ * pool. Results can be handed back to the JavaFX Application Thread with
+ * {@link #FX_THREAD}:</p>
+ * <pre>
+ * AsyncDatabase.selectAggregates(null)
+ *         .thenAcceptAsync(table.getItems()::setAll, AsyncDatabase.FX_THREAD);
+ * </pre>
+ *
+ * <p>Unlike the synchronous helpers, which log failures and return an empty
+ * result, the futures returned here complete exceptionally with the
+ * {@link SQLException} as cause when a statement fails.</p>
+ */
+public final class AsyncDatabase {
+
+    /** Executor that runs tasks on the JavaFX Application Thread. */
+    public static final Executor FX_THREAD = Platform::runLater;
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+    private static final Logger logger = LogManager.getLogger(AsyncDatabase.class);
+
+    private static ExecutorService writer;
+    private static ExecutorService readers;
+
+    private AsyncDatabase() {
+    }
+
+    /**
+     * Inserts a row on the writer thread.
+     *
+     * @param table the name of the table
+     * @param columns the columns to insert into, separated by commas
+     * @param values the values to insert, matching the order of the columns
+     * @return a future completed once the row is written
+     */
+    public static CompletableFuture<Void> insert(String table, String columns, Object... values) {
+        return writeChecked(() -> {
+            SqliteHelperMain.insertOrThrow(table, columns, values);
+            return null;
+        });
+    }
+
+    /**
+     * Updates rows on the writer thread.
+     *
+     * @param table the name of the table
+     * @param setClause the columns to update with placeholders
+     * @param whereClause the WHERE clause with placeholders
+     * @param values the values to bind to the placeholders
+     * @return a future completed once the rows are updated
+     */
+    public static CompletableFuture<Void> update(String table, String setClause,
+                                                 String whereClause, Object... values) {
+        return writeChecked(() -> {
+            SqliteHelperMain.updateOrThrow(table, setClause, whereClause, values);
+            return null;
+        });
+    }
+
+    /**
+     * Deletes rows on the writer thread.
+     *
+     * @param table the name of the table
+     * @param whereClause the WHERE clause with placeholders
+     * @param values the values to bind to the placeholders
+     * @return a future completed once the rows are deleted
+     */
+    public static CompletableFuture<Void> delete(String table, String whereClause,
+                                                 Object... values) {
+        return writeChecked(() -> {
+            SqliteHelperMain.deleteOrThrow(table, whereClause, values);
+            return null;
+        });
+    }
+
+    /**
+     * Inserts many rows in one transaction on the writer thread.
+     *
+     * @param table the name of the table
+     * @param columns the columns to insert into, separated by commas
+     * @param rows the rows to insert
+     * @return a future with the number of inserted rows
+     */
+    public static CompletableFuture<Integer> insertBatch(String table, String columns,
+                                                         List<Object[]> rows) {
+        return writeChecked(() -> SqliteHelperMain.insertBatchOrThrow(
+                table, columns, rows, SqliteHelperMain.DEFAULT_BATCH_CHUNK_SIZE));
+    }
+
+    /**
+     * Updates rows in one transaction on the writer thread.
+     *
+     * @param table the name of the table
+     * @param setClause the columns to update with placeholders
+     * @param whereClause the WHERE clause with placeholders
+     * @param rows the parameter sets for the set and where clauses
+     * @return a future with the number of updated rows
+     */
+    public static CompletableFuture<Integer> updateBatch(String table, String setClause,
+                                                         String whereClause, List<Object[]> rows) {
+        return writeChecked(() -> SqliteHelperMain.updateBatchOrThrow(
+                table, setClause, whereClause, rows, SqliteHelperMain.DEFAULT_BATCH_CHUNK_SIZE));
+    }
+
+    /**
+     * Selects rows on a reader thread.
+     *
+     * @param table the name of the table
+     * @param columns the columns to select, separated by commas
+     * @param whereClause the WHERE clause with placeholders (optional, can be null)
+     * @param values the values to bind to the placeholders
+     * @return a future with the selected rows
+     */
+    public static CompletableFuture<Object[][]> select(String table, String columns,
+                                                       String whereClause, Object... values) {
+        return readChecked(() -> SqliteHelperMain.selectOrThrow(
+                table, columns, whereClause, values));
+    }
+
+    /**
+     * Selects and maps rows on a reader thread.
+     *
+     * @param table the name of the table
+     * @param columns the columns to select, separated by commas
+     * @param whereClause the WHERE clause with placeholders (optional, can be null)
+     * @param mapper the mapper turning a row into an object
+     * @param values the values to bind to the placeholders
+     * @param <T> the mapped type
+     * @return a future with the mapped rows
+     */
+    public static <T> CompletableFuture<List<T>> selectAs(String table, String columns,
+                                                          String whereClause, RowMapper<T> mapper,
+                                                          Object... values) {
+        return readChecked(() -> SqliteHelperMain.selectAsOrThrow(
+                table, columns, whereClause, mapper, values));
+    }
+
+    /**
+     * Selects generators from the {@code Aggregate} table on a reader thread.
+     *
+     * @param whereClause the WHERE clause with placeholders (optional, can be null)
+     * @param values the values to bind to the placeholders
+     * @return a future with the matching generators
+     */
+    public static CompletableFuture<List<Aggregate>> selectAggregates(String whereClause,
+                                                                      Object... values) {
+        return selectAs(Aggregate.TABLE, Aggregate.COLUMNS, whereClause, Aggregate.MAPPER, values);
+    }
+
+    /**
+     * Runs an arbitrary write task on the writer thread.
+     *
+     * @param task the task to run
+     * @param <T> the result type
+     * @return a future with the result of the task
+     */
+    public static <T> CompletableFuture<T> write(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, writer());
+    }
+
+    /**
+     * Runs an arbitrary read task on a reader thread.
+     *
+     * @param task the task to run
+     * @param <T> the result type
+     * @return a future with the result of the task
+     */
+    public static <T> CompletableFuture<T> read(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, readers());
+    }
+
+    private static <T> CompletableFuture<T> writeChecked(SqlTask<T> task) {
+        return CompletableFuture.supplyAsync(unchecked(task), writer());
+    }
+
+    private static <T> CompletableFuture<T> readChecked(SqlTask<T> task) {
+        return CompletableFuture.supplyAsync(unchecked(task), readers());
+    }
+
+    private static <T> Supplier<T> unchecked(SqlTask<T> task) {
+        return () -> {
+            try {
+                return task.call();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        };
+    }
+
+    /**
+     * Stops the worker threads after all submitted writes have finished. New
+     * workers are started on the next call.
+     */
+    public static void shutdown() {
+        ExecutorService oldWriter;
+        ExecutorService oldReaders;
+        synchronized (AsyncDatabase.class) {
+            oldWriter = writer;
+            oldReaders = readers;
+            writer = null;
+            readers = null;
+        }
+        awaitTermination(oldWriter);
+        awaitTermination(oldReaders);
+    }
+
+    private static synchronized ExecutorService writer() {
+        if (writer == null) {
+            writer = Executors.newSingleThreadExecutor(daemonThreads("db-writer"));
+        }
+        return writer;
+    }
+
+    private static synchronized ExecutorService readers() {
+        if (readers == null) {
+            readers = Executors.newFixedThreadPool(
+                    SqliteHelperMain.configuredPoolSize(), daemonThreads("db-reader"));
+        }
+        return readers;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Database worker threads did not finish in time.");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    /** A database task that may fail with an {@link SQLException}. */
+    @FunctionalInterface
+    private interface SqlTask<T> {
+        T call() throws SQLException;
+    }
+}
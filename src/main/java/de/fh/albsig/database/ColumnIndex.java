@@ -0,0 +1,78 @@
+package de.fh.albsig.database;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Column metadata of a query, resolved once from the {@link ResultSetMetaData}
+ * and then reused for every row and every later execution of the same SQL.
+ * Column names are matched case-insensitively.
+ */
+public final class ColumnIndex {
+
+    private final String[] names;
+    private final Map<String, Integer> positions;
+
+    private ColumnIndex(String[] names) {
+        this.names = names;
+        this.positions = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            positions.putIfAbsent(names[i], i + 1);
+        }
+    }
+
+    /**
+     * Reads the column labels of a result set.
+     *
+     * @param metaData the result set metadata
+     * @return the resolved column index
+     * @throws SQLException if the metadata cannot be read
+     */
+    static ColumnIndex of(ResultSetMetaData metaData) throws SQLException {
+        String[] names = new String[metaData.getColumnCount()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = metaData.getColumnLabel(i + 1).toLowerCase(Locale.ROOT);
+        }
+        return new ColumnIndex(names);
+    }
+
+    /**
+     * Returns the JDBC (one based) index of a column.
+     *
+     * @param name the column name or alias
+     * @return the column index
+     * @throws IllegalArgumentException if the query has no such column
+     */
+    public int indexOf(String name) {
+        Integer position = positions.get(name);
+        if (position == null) {
+            position = positions.get(name.toLowerCase(Locale.ROOT));
+        }
+        if (position == null) {
+            throw new IllegalArgumentException("Unknown column: " + name);
+        }
+        return position;
+    }
+
+    /**
+     * Returns the number of columns.
+     *
+     * @return the column count
+     */
+    public int count() {
+        return names.length;
+    }
+
+    /**
+     * Returns the name of a column.
+     *
+     * @param index the JDBC (one based) column index
+     * @return the lower-case column name
+     */
+    public String nameOf(int index) {
+        return names[index - 1];
+    }
+}
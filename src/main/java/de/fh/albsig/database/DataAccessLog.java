@@ -0,0 +1,199 @@
+package de.fh.albsig.database;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Timing and logging of database operations.
+ *
+ * <p>Every operation is counted and timed in lock-free counters. Whether it is
+ * also written to the log depends on the {@link Mode}; individual operations are
+ * logged at DEBUG on the {@code de.fh.albsig.database.access} logger, and bound
+ * values are never logged. The aggregated counters can be written with
+ * {@link #logSummary()}, which {@link SqliteHelperMain#shutdown()} does on exit.</p>
+ */
+public final class DataAccessLog {
+
+    /**
+     * Database operations that are timed.
+     */
+    public enum Operation { INSERT, UPDATE, DELETE, SELECT, BATCH_INSERT, BATCH_UPDATE, STREAM }
+
+    /**
+     * How much is written to the log per operation.
+     */
+    public enum Mode {
+        /** Only update the counters. */
+        COUNTERS,
+        /** Log every n-th operation, see {@link #configure(Mode, int)}. */
+        SAMPLED,
+        /** Log every operation. */
+        ALL
+    }
+
+    private static final Logger logger = LogManager.getLogger("de.fh.albsig.database.access");
+
+    private static final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+    static {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    private static volatile Mode mode = Mode.SAMPLED;
+    private static volatile int sampleEvery = 100;
+
+    /**
+     * Counters of one operation type.
+     */
+    private static final class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+    }
+
+    private DataAccessLog() {
+    }
+
+    /**
+     * Sets what is logged per operation.
+     *
+     * @param newMode the logging mode
+     * @param newSampleEvery for {@link Mode#SAMPLED}, log one of this many operations
+     */
+    public static void configure(Mode newMode, int newSampleEvery) {
+        if (newSampleEvery < 1) {
+            throw new IllegalArgumentException("Sample rate must be at least 1");
+        }
+        mode = newMode;
+        sampleEvery = newSampleEvery;
+    }
+
+    /**
+     * Returns the current logging mode.
+     *
+     * @return the mode
+     */
+    static Mode currentMode() {
+        return mode;
+    }
+
+    /**
+     * Returns how many operations {@link Mode#SAMPLED} skips per logged one.
+     *
+     * @return the sample rate
+     */
+    static int currentSampleEvery() {
+        return sampleEvery;
+    }
+
+    /**
+     * Records a finished operation.
+     *
+     * @param operation the operation type
+     * @param table the table it ran against
+     * @param rows the number of rows written or read
+     * @param startNanos the {@link System#nanoTime()} taken before the operation
+     */
+    public static void record(Operation operation, String table, int rows, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        Stats stat = stats.get(operation);
+        stat.count.increment();
+        stat.rows.add(rows);
+        stat.nanos.add(elapsed);
+
+        if (mode == Mode.COUNTERS || !logger.isDebugEnabled()) {
+            return;
+        }
+        if (mode == Mode.SAMPLED && stat.count.sum() % sampleEvery != 0) {
+            return;
+        }
+        logger.debug("{} {}: rows={}, {} µs", operation, table, rows, elapsed / 1_000);
+    }
+
+    /**
+     * Records a failed operation. Failures are always counted; the error itself
+     * is logged by the caller.
+     *
+     * @param operation the operation type
+     */
+    public static void recordFailure(Operation operation) {
+        stats.get(operation).failures.increment();
+    }
+
+    /**
+     * Returns how often an operation was recorded.
+     *
+     * @param operation the operation type
+     * @return the operation count
+     */
+    public static long getCount(Operation operation) {
+        return stats.get(operation).count.sum();
+    }
+
+    /**
+     * Returns the total number of rows an operation touched.
+     *
+     * @param operation the operation type
+     * @return the row count
+     */
+    public static long getRows(Operation operation) {
+        return stats.get(operation).rows.sum();
+    }
+
+    /**
+     * Returns the mean duration of an operation.
+     *
+     * @param operation the operation type
+     * @return the mean duration in microseconds, 0 if it never ran
+     */
+    public static double getMeanMicros(Operation operation) {
+        Stats stat = stats.get(operation);
+        long count = stat.count.sum();
+        return count == 0 ? 0.0 : stat.nanos.sum() / 1_000.0 / count;
+    }
+
+    /**
+     * Returns how often an operation failed.
+     *
+     * @param operation the operation type
+     * @return the failure count
+     */
+    public static long getFailures(Operation operation) {
+        return stats.get(operation).failures.sum();
+    }
+
+    /**
+     * Writes the aggregated counters of all operations that ran at INFO.
+     */
+    public static void logSummary() {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        for (Operation operation : Operation.values()) {
+            long count = getCount(operation);
+            if (count > 0) {
+                logger.info("{}: count={}, rows={}, failures={}, mean={} µs", operation, count,
+                        getRows(operation), getFailures(operation),
+                        String.format("%.1f", getMeanMicros(operation)));
+            }
+        }
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public static void reset() {
+        for (Stats stat : stats.values()) {
+            stat.count.reset();
+            stat.rows.reset();
+            stat.nanos.reset();
+            stat.failures.reset();
+        }
+    }
+}
@@ -0,0 +1,685 @@
+package de.fh.albsig.database;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Streaming import and export of equipment tables as CSV or JSON.
+ *
+ * <p>Files are read and written through buffered NIO channels, one row at a
+ * time, so neither side ever holds the whole file or table in memory. Imported
+ * rows are checked against the table schema (known columns, NOT NULL, numeric
+ * types) and written with {@link SqliteHelperMain#insertBatch} in transactions
+ * of {@link #DEFAULT_TRANSACTION_SIZE} rows. Invalid rows are skipped and
+ * counted. If SQLite rejects a transaction, for example because of a duplicate
+ * key, its rows are retried one by one so only the offending records are
+ * skipped.</p>
+ *
+ * <p>CSV files need a header line with the column names. JSON files contain
+ * one array of flat objects whose keys are column names:</p>
+ * <pre>
+ * [{"name": "Generator A", "fuel_cap": 100.5, "consumption": 5.0, "power_output": 50.0}]
+ * </pre>
+ */
+public final class InventoryTransfer {
+
+    /** Number of rows committed per transaction during an import. */
+    public static final int DEFAULT_TRANSACTION_SIZE = 5_000;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final Logger logger = LogManager.getLogger(InventoryTransfer.class);
+
+    /**
+     * Outcome of an import.
+     *
+     * @param imported the number of rows written
+     * @param rejected the number of rows skipped because they did not match the schema
+     */
+    public record ImportResult(int imported, int rejected) {
+    }
+
+    /**
+     * A column as declared in the table.
+     *
+     * @param name the column name, lower case
+     * @param type the declared type, upper case
+     * @param notNull whether the column is NOT NULL without a default value
+     */
+    private record Column(String name, String type, boolean notNull) {
+
+        boolean isInteger() {
+            return type.contains("INT");
+        }
+
+        boolean isReal() {
+            return type.contains("REAL") || type.contains("FLOA") || type.contains("DOUB");
+        }
+    }
+
+    private InventoryTransfer() {
+    }
+
+    /**
+     * Imports a CSV file into a table.
+     *
+     * @param file the CSV file with a header line
+     * @param table the target table
+     * @return the number of imported and rejected rows
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the table does not exist or is not
+     *                                  registered with {@link SqlTemplates}, or the
+     *                                  header names unknown columns
+     */
+    public static ImportResult importCsv(Path file, String table) throws IOException {
+        Map<String, Column> schema = readSchema(table);
+        try (BufferedReader reader = openReader(file)) {
+            List<String> header = parseCsvLine(reader.readLine());
+            if (header == null) {
+                return new ImportResult(0, 0);
+            }
+            List<Column> columns = resolveColumns(schema, header, table);
+            RowSink sink = new RowSink(table, columns);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = parseCsvLine(line);
+                while (fields == null) {
+                    // A quoted field contains a line break; keep reading the record
+                    String next = reader.readLine();
+                    if (next == null) {
+                        throw new IOException("Unterminated quoted field in " + file);
+                    }
+                    line = line + "\n" + next;
+                    fields = parseCsvLine(line);
+                }
+                sink.accept(fields);
+            }
+            return sink.finish();
+        }
+    }
+
+    /**
+     * Imports a JSON array of flat objects into a table. Keys must be the same
+     * set of columns in every object; objects with other keys or a malformed
+     * string escape are skipped.
+     *
+     * @param file the JSON file
+     * @param table the target table
+     * @return the number of imported and rejected rows
+     * @throws IOException if the file cannot be read or is not valid JSON
+     * @throws IllegalArgumentException if the table does not exist or is not
+     *                                  registered with {@link SqlTemplates}, or an
+     *                                  object names unknown columns
+     */
+    public static ImportResult importJson(Path file, String table) throws IOException {
+        Map<String, Column> schema = readSchema(table);
+        try (BufferedReader reader = openReader(file)) {
+            JsonReader json = new JsonReader(reader);
+            json.expect('[');
+            RowSink sink = null;
+            List<String> keys = null;
+            Set<String> keySet = null;
+            if (!json.tryConsume(']')) {
+                do {
+                    Map<String, String> object = json.readFlatObject();
+                    if (sink == null) {
+                        keys = new ArrayList<>(object.keySet());
+                        keySet = object.keySet();
+                        sink = new RowSink(table, resolveColumns(schema, keys, table));
+                    }
+                    if (json.malformedEscape() != null) {
+                        sink.reject("invalid escape \\u" + json.malformedEscape());
+                    } else if (!object.keySet().equals(keySet)) {
+                        sink.reject("object keys differ from the first object");
+                    } else {
+                        List<String> fields = new ArrayList<>(keys.size());
+                        for (String key : keys) {
+                            fields.add(object.get(key));
+                        }
+                        sink.accept(fields);
+                    }
+                } while (json.tryConsume(','));
+                json.expect(']');
+            }
+            return sink == null ? new ImportResult(0, 0) : sink.finish();
+        }
+    }
+
+    /**
+     * Exports columns of a table to a CSV file, streaming rows from a cursor.
+     *
+     * @param file the target file, replaced if it exists
+     * @param table the source table
+     * @param columns the columns to export, separated by commas
+     * @return the number of exported rows
+     * @throws IOException if the file cannot be written or the table cannot be read
+     */
+    public static int exportCsv(Path file, String table, String columns) throws IOException {
+        List<String> names = splitColumns(columns);
+        try (BufferedWriter writer = openWriter(file)) {
+            writeCsvLine(writer, names);
+            return exportRows(table, columns, row -> {
+                List<String> fields = new ArrayList<>(row.size());
+                for (int i = 0; i < row.size(); i++) {
+                    fields.add(row.getString(i));
+                }
+                writeCsvLine(writer, fields);
+            });
+        }
+    }
+
+    /**
+     * Exports columns of a table to a JSON array of objects, streaming rows from
+     * a cursor.
+     *
+     * @param file the target file, replaced if it exists
+     * @param table the source table
+     * @param columns the columns to export, separated by commas
+     * @return the number of exported rows
+     * @throws IOException if the file cannot be written or the table cannot be read
+     */
+    public static int exportJson(Path file, String table, String columns) throws IOException {
+        List<String> names = splitColumns(columns);
+        try (BufferedWriter writer = openWriter(file)) {
+            writer.write('[');
+            boolean[] first = {true};
+            int count = exportRows(table, columns, row -> {
+                if (!first[0]) {
+                    writer.write(',');
+                }
+                first[0] = false;
+                writer.newLine();
+                writer.write("  {");
+                for (int i = 0; i < row.size(); i++) {
+                    if (i > 0) {
+                        writer.write(", ");
+                    }
+                    writeJsonString(writer, names.get(i));
+                    writer.write(": ");
+                    writeJsonValue(writer, row.get(i));
+                }
+                writer.write('}');
+            });
+            writer.newLine();
+            writer.write(']');
+            writer.newLine();
+            return count;
+        }
+    }
+
+    /**
+     * Writes one row to an output file.
+     */
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Row row) throws IOException;
+    }
+
+    private static int exportRows(String table, String columns, RowWriter rowWriter)
+            throws IOException {
+        requireIdentifier(table);
+        try {
+            return SqliteHelperMain.selectEachOrThrow(table, columns, null,
+                    SqliteHelperMain.DEFAULT_FETCH_SIZE, row -> {
+                        try {
+                            rowWriter.write(row);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (SQLException e) {
+            throw new IOException("Failed to export table " + table + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Collects validated rows and commits them in large transactions.
+     */
+    private static final class RowSink {
+        private final String table;
+        private final List<Column> columns;
+        private final String columnList;
+        private final List<Object[]> pending = new ArrayList<>();
+        private final List<Integer> pendingRecords = new ArrayList<>();
+        private int imported;
+        private int rejected;
+        private int lineNumber;
+
+        RowSink(String table, List<Column> columns) {
+            this.table = table;
+            this.columns = columns;
+            List<String> names = new ArrayList<>(columns.size());
+            for (Column column : columns) {
+                names.add(column.name());
+            }
+            this.columnList = String.join(", ", names);
+        }
+
+        void accept(List<String> fields) {
+            lineNumber++;
+            if (fields.size() != columns.size()) {
+                skip(lineNumber, "expected " + columns.size()
+                        + " fields but found " + fields.size());
+                return;
+            }
+            Object[] row = new Object[columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                Column column = columns.get(i);
+                String field = fields.get(i);
+                if (field == null || field.isEmpty()) {
+                    if (column.notNull()) {
+                        skip(lineNumber, "column " + column.name() + " must not be empty");
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    row[i] = convert(column, field.trim());
+                } catch (NumberFormatException e) {
+                    skip(lineNumber, "column " + column.name()
+                            + " is not a number: " + field);
+                    return;
+                }
+            }
+            pending.add(row);
+            pendingRecords.add(lineNumber);
+            if (pending.size() >= DEFAULT_TRANSACTION_SIZE) {
+                commit();
+            }
+        }
+
+        void reject(String reason) {
+            lineNumber++;
+            skip(lineNumber, reason);
+        }
+
+        private void skip(int record, String reason) {
+            rejected++;
+            logger.warn("Skipping record {} for table {}: {}", record, table, reason);
+        }
+
+        ImportResult finish() {
+            commit();
+            logger.info("Imported {} rows into {}, rejected {}.", imported, table, rejected);
+            return new ImportResult(imported, rejected);
+        }
+
+        private void commit() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                imported += SqliteHelperMain.insertBatchOrThrow(
+                        table, columnList, pending, pending.size());
+            } catch (SQLException e) {
+                logger.warn("Transaction for table {} rolled back, retrying {} rows one by one: {}",
+                        table, pending.size(), e.getMessage());
+                for (int i = 0; i < pending.size(); i++) {
+                    try {
+                        imported += SqliteHelperMain.insertBatchOrThrow(
+                                table, columnList, List.<Object[]>of(pending.get(i)), 1);
+                    } catch (SQLException single) {
+                        skip(pendingRecords.get(i), single.getMessage());
+                    }
+                }
+            }
+            pending.clear();
+            pendingRecords.clear();
+        }
+
+        private static Object convert(Column column, String field) {
+            if (column.isInteger()) {
+                return Long.parseLong(field);
+            }
+            if (column.isReal()) {
+                return Double.parseDouble(field);
+            }
+            return field;
+        }
+    }
+
+    private static Map<String, Column> readSchema(String table) {
+        requireIdentifier(table);
+        if (!SqlTemplates.isKnownTable(table)) {
+            // Rows are inserted through the SqlTemplates whitelist, which would
+            // reject every row of any other table
+            throw new IllegalArgumentException("Unknown table: " + table);
+        }
+        Map<String, Column> schema = new LinkedHashMap<>();
+        try (PooledConnection pooled = SqliteHelperMain.pool().borrow()) {
+            PreparedStatement stmt = pooled.prepare("PRAGMA table_info(" + table + ")");
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString("name").toLowerCase(Locale.ROOT);
+                    String type = rs.getString("type").toUpperCase(Locale.ROOT);
+                    boolean notNull = rs.getInt("notnull") == 1
+                            && rs.getString("dflt_value") == null;
+                    schema.put(name, new Column(name, type, notNull));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read schema of " + table, e);
+        }
+        if (schema.isEmpty()) {
+            throw new IllegalArgumentException("Unknown table: " + table);
+        }
+        return schema;
+    }
+
+    private static List<Column> resolveColumns(Map<String, Column> schema,
+                                               List<String> names, String table) {
+        List<Column> columns = new ArrayList<>(names.size());
+        for (String name : names) {
+            Column column = schema.get(name.trim().toLowerCase(Locale.ROOT));
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown column " + name + " in " + table);
+            }
+            columns.add(column);
+        }
+        for (Column column : schema.values()) {
+            if (column.notNull() && !columns.contains(column)) {
+                throw new IllegalArgumentException("Missing required column "
+                        + column.name() + " for " + table);
+            }
+        }
+        return columns;
+    }
+
+    private static List<String> splitColumns(String columns) {
+        List<String> names = new ArrayList<>();
+        for (String name : columns.split(",")) {
+            names.add(requireIdentifier(name.trim()));
+        }
+        return names;
+    }
+
+    private static String requireIdentifier(String name) {
+        if (!IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid identifier: " + name);
+        }
+        return name;
+    }
+
+    private static BufferedReader openReader(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+    }
+
+    private static BufferedWriter openWriter(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+    }
+
+    /**
+     * Splits one CSV record following RFC 4180 quoting rules.
+     *
+     * @param line the record, may span several physical lines
+     * @return the fields, or null if the line is null or ends inside a quoted field
+     */
+    static List<String> parseCsvLine(String line) {
+        if (line == null) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static void writeCsvLine(Writer writer, List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String field = fields.get(i);
+            if (field == null) {
+                continue;
+            }
+            if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0
+                    || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(field.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(field);
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static void writeJsonValue(Writer writer, Object value) throws IOException {
+        if (value == null || value instanceof Double d && !Double.isFinite(d)
+                || value instanceof Float f && !Float.isFinite(f)) {
+            // JSON has no literal for NaN or infinity
+            writer.write("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            writer.write(value.toString());
+        } else {
+            writeJsonString(writer, value.toString());
+        }
+    }
+
+    private static void writeJsonString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> writer.write("\\\"");
+                case '\\' -> writer.write("\\\\");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                case '\t' -> writer.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+        writer.write('"');
+    }
+
+    /**
+     * Minimal pull parser for an array of flat JSON objects. Nested objects and
+     * arrays are rejected; every value is returned as text, null for JSON null.
+     */
+    private static final class JsonReader {
+        private final Reader reader;
+        private int peeked = -2;
+        private String malformedEscape;
+
+        JsonReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        Map<String, String> readFlatObject() throws IOException {
+            malformedEscape = null;
+            expect('{');
+            Map<String, String> object = new LinkedHashMap<>();
+            if (tryConsume('}')) {
+                return object;
+            }
+            do {
+                skipWhitespace();
+                String key = readString();
+                expect(':');
+                object.put(key, readScalar());
+            } while (tryConsume(','));
+            expect('}');
+            return object;
+        }
+
+        /**
+         * Returns the digits of the first invalid {@code \\u} escape of the last
+         * object, or null if it had none.
+         */
+        String malformedEscape() {
+            return malformedEscape;
+        }
+
+        void expect(char expected) throws IOException {
+            skipWhitespace();
+            int c = next();
+            if (c != expected) {
+                throw new IOException("Expected '" + expected + "' but found "
+                        + (c < 0 ? "end of file" : "'" + (char) c + "'"));
+            }
+        }
+
+        boolean tryConsume(char expected) throws IOException {
+            skipWhitespace();
+            if (peek() == expected) {
+                next();
+                return true;
+            }
+            return false;
+        }
+
+        private String readScalar() throws IOException {
+            skipWhitespace();
+            int c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '{' || c == '[') {
+                throw new IOException("Nested values are not supported");
+            }
+            StringBuilder literal = new StringBuilder();
+            while ((c = peek()) >= 0 && c != ',' && c != '}' && !Character.isWhitespace(c)) {
+                literal.append((char) next());
+            }
+            String text = literal.toString();
+            if (text.isEmpty()) {
+                throw new IOException("Missing value");
+            }
+            return "null".equals(text) ? null : text;
+        }
+
+        private String readString() throws IOException {
+            if (next() != '"') {
+                throw new IOException("Expected a string");
+            }
+            StringBuilder text = new StringBuilder();
+            while (true) {
+                int c = next();
+                if (c < 0) {
+                    throw new IOException("Unterminated string");
+                }
+                if (c == '"') {
+                    return text.toString();
+                }
+                if (c == '\\') {
+                    int escaped = next();
+                    switch (escaped) {
+                        case 'n' -> text.append('\n');
+                        case 'r' -> text.append('\r');
+                        case 't' -> text.append('\t');
+                        case 'b' -> text.append('\b');
+                        case 'f' -> text.append('\f');
+                        case 'u' -> text.append(readUnicodeEscape());
+                        default -> text.append((char) escaped);
+                    }
+                } else {
+                    text.append((char) c);
+                }
+            }
+        }
+
+        private char readUnicodeEscape() throws IOException {
+            StringBuilder hex = new StringBuilder(4);
+            for (int i = 0; i < 4; i++) {
+                int c = peek();
+                if (c < 0 || c == '"') {
+                    // Leave the quote to end the string; the escape is just too short
+                    break;
+                }
+                hex.append((char) next());
+            }
+            try {
+                if (hex.length() == 4) {
+                    return (char) Integer.parseInt(hex.toString(), 16);
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            if (malformedEscape == null) {
+                malformedEscape = hex.toString();
+            }
+            return '\uFFFD';
+        }
+
+        private void skipWhitespace() throws IOException {
+            while (peek() >= 0 && Character.isWhitespace(peek())) {
+                next();
+            }
+        }
+
+        private int peek() throws IOException {
+            if (peeked == -2) {
+                peeked = reader.read();
+            }
+            return peeked;
+        }
+
+        private int next() throws IOException {
+            int c = peek();
+            peeked = -2;
+            return c;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package de.fh.albsig.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A connection borrowed from a {@link SqliteConnectionPool}.
+ *
+ * <p>Closing this handle does not close the underlying JDBC connection, it returns
+ * it to the pool it was borrowed from. This keeps the usual try-with-resources
+ * pattern working:</p>
+ * <pre>
+ * try (PooledConnection pooled = pool.borrow()) {
+ *     PreparedStatement stmt = pooled.prepare(sql);
+ * }
+ * </pre>
+ */
+public final class PooledConnection implements AutoCloseable {
+
+    private final SqliteConnectionPool pool;
+    private final Connection connection;
+    private final StatementCache statementCache;
+    private final AtomicBoolean borrowed = new AtomicBoolean();
+    private long lastUsedMillis;
+
+    /**
+     * Wraps a physical connection owned by the given pool.
+     *
+     * @param pool the pool the connection belongs to
+     * @param connection the physical JDBC connection
+     * @param statementCacheSize the number of prepared statements to keep
+     */
+    PooledConnection(SqliteConnectionPool pool, Connection connection, int statementCacheSize) {
+        this.pool = pool;
+        this.connection = connection;
+        this.statementCache = new StatementCache(connection, statementCacheSize);
+        this.lastUsedMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the underlying JDBC connection. Callers must not close it.
+     *
+     * @return the physical connection
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Returns a cached prepared statement for the SQL text. The statement stays
+     * owned by the connection and must not be closed by the caller.
+     *
+     * @param sql the SQL text
+     * @return the prepared statement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        return statementCache.prepare(sql);
+    }
+
+    /**
+     * Returns the statement cache of this connection.
+     *
+     * @return the statement cache
+     */
+    StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    /**
+     * Returns the time this connection was last handed back to the pool.
+     *
+     * @return the timestamp in milliseconds
+     */
+    long getLastUsedMillis() {
+        return lastUsedMillis;
+    }
+
+    /**
+     * Marks the connection as handed out by the pool.
+     */
+    void markBorrowed() {
+        borrowed.set(true);
+    }
+
+    /**
+     * Marks the connection as returned to the pool.
+     *
+     * @return false if it was already returned since it was last borrowed
+     */
+    boolean markReturned() {
+        return borrowed.compareAndSet(true, false);
+    }
+
+    /**
+     * Marks the connection as used right now.
+     */
+    void touch() {
+        lastUsedMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the connection to its pool. Closing it again before it is borrowed
+     * anew has no effect.
+     */
+    @Override
+    public void close() {
+        pool.release(this);
+    }
+}
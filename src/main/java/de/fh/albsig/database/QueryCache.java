@@ -0,0 +1,219 @@
+package de.fh.albsig.database;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded read-through cache for the results of
+ * {@link SqliteHelperMain#select(String, String, String, Object...)}.
+ *
+ * <p>Entries are keyed by table, columns, where clause and bound values. They are
+ * evicted least-recently-used once the cache is full and expire after the
+ * configured time to live. Every write to a table drops all cached results of
+ * that table.</p>
+ */
+public class QueryCache {
+
+    /**
+     * Identifies a cached query.
+     *
+     * @param table the table name, lower case
+     * @param columns the selected columns
+     * @param whereClause the where clause, may be null
+     * @param values the bound values
+     */
+    private record Key(String table, String columns, String whereClause, List<Object> values) {
+    }
+
+    /**
+     * A cached result and the time it stops being valid.
+     *
+     * @param rows the selected rows
+     * @param expiresAtNanos the expiry time in {@link System#nanoTime()} units
+     */
+    private record Entry(Object[][] rows, long expiresAtNanos) {
+    }
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<Key, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private long generation;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxEntries the maximum number of cached results, at least 1
+     * @param ttlMillis how long a result stays valid, at least 1
+     */
+    public QueryCache(int maxEntries, long ttlMillis) {
+        if (maxEntries < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("Cache size and TTL must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > QueryCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached rows of a query, or null if they are not cached or have
+     * expired. The returned rows are a copy the caller may modify.
+     *
+     * @param table the name of the table
+     * @param columns the selected columns
+     * @param whereClause the where clause, may be null
+     * @param values the bound values
+     * @return the rows, or null on a miss
+     */
+    public Object[][] get(String table, String columns, String whereClause, Object[] values) {
+        Key key = key(table, columns, whereClause, values);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.expiresAtNanos() > 0) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copy(entry.rows());
+    }
+
+    /**
+     * Returns a token to pass to {@link #put} so results read before a concurrent
+     * write are not cached.
+     *
+     * @return the current generation
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Caches the rows of a query unless the cache was invalidated since the
+     * given generation was taken.
+     *
+     * @param generation the value of {@link #generation()} before the query ran
+     * @param table the name of the table
+     * @param columns the selected columns
+     * @param whereClause the where clause, may be null
+     * @param values the bound values
+     * @param rows the selected rows; a copy is stored
+     */
+    public void put(long generation, String table, String columns, String whereClause,
+                    Object[] values, Object[][] rows) {
+        Key key = key(table, columns, whereClause, values);
+        Entry entry = new Entry(copy(rows), System.nanoTime() + ttlNanos);
+        synchronized (this) {
+            if (generation == this.generation) {
+                entries.put(key, entry);
+            }
+        }
+    }
+
+    /**
+     * Drops all cached results of a table.
+     *
+     * @param table the name of the table
+     */
+    public void invalidate(String table) {
+        String name = normalize(table);
+        synchronized (this) {
+            generation++;
+            Iterator<Key> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                if (keys.next().table().equals(name)) {
+                    keys.remove();
+                }
+            }
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * Drops all cached results.
+     */
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of cached results.
+     *
+     * @return the entry count
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns how many lookups were answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how many lookups had to query the database.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns how often a table was invalidated by a write.
+     *
+     * @return the invalidation count
+     */
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Returns the share of lookups answered from the cache.
+     *
+     * @return the hit ratio between 0 and 1, 0 if there were no lookups
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private static Key key(String table, String columns, String whereClause, Object[] values) {
+        return new Key(normalize(table), columns, whereClause, Arrays.asList(values.clone()));
+    }
+
+    private static String normalize(String table) {
+        return table.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Object[][] copy(Object[][] rows) {
+        Object[][] copy = new Object[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            copy[i] = rows[i].clone();
+        }
+        return copy;
+    }
+}
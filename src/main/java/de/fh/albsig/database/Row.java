@@ -0,0 +1,89 @@
+package de.fh.albsig.database;
+
+import java.util.Arrays;
+
+/**
+ * A single row read by one of the streaming select methods of
+ * {@link SqliteHelperMain}. Column indexes are zero based and follow the order
+ * of the selected columns, like the rows returned by
+ * {@link SqliteHelperMain#select(String, String, String, Object...)}.
+ */
+public final class Row {
+
+    private final Object[] values;
+
+    /**
+     * Creates a row from the given column values.
+     *
+     * @param values the column values, not copied
+     */
+    Row(Object[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Returns the number of columns in this row.
+     *
+     * @return the column count
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Returns the raw value of a column.
+     *
+     * @param index the zero based column index
+     * @return the value, may be null
+     */
+    public Object get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns a column as a string.
+     *
+     * @param index the zero based column index
+     * @return the value as string, or null if the column is null
+     */
+    public String getString(int index) {
+        Object value = values[index];
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Returns a numeric column as a double.
+     *
+     * @param index the zero based column index
+     * @return the value, or 0.0 if the column is null
+     */
+    public double getDouble(int index) {
+        Object value = values[index];
+        return value == null ? 0.0 : ((Number) value).doubleValue();
+    }
+
+    /**
+     * Returns a numeric column as a long.
+     *
+     * @param index the zero based column index
+     * @return the value, or 0 if the column is null
+     */
+    public long getLong(int index) {
+        Object value = values[index];
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    /**
+     * Returns a copy of all column values.
+     *
+     * @return the column values
+     */
+    public Object[] toArray() {
+        return values.clone();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+}
@@ -0,0 +1,57 @@
+package de.fh.albsig.database;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a result set to an object.
+ *
+ * <p>Implementations should read columns with the primitive getters of
+ * {@link ResultSet} (e.g. {@code getDouble}) so values are not boxed. Mappers
+ * that look up columns by name should override {@link #bind(ColumnIndex)} to
+ * resolve the names once per query instead of once per value.</p>
+ *
+ * @param <T> the mapped type
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Reads rows of a query whose columns have already been resolved.
+     *
+     * @param <T> the mapped type
+     */
+    @FunctionalInterface
+    interface Reader<T> {
+
+        /**
+         * Maps the current row.
+         *
+         * @param rs the result set positioned on a row
+         * @return the mapped object
+         * @throws SQLException if a column cannot be read
+         */
+        T read(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Maps the current row.
+     *
+     * @param rs the result set positioned on a row
+     * @param columns the cached column metadata of the query
+     * @return the mapped object
+     * @throws SQLException if a column cannot be read
+     */
+    T map(ResultSet rs, ColumnIndex columns) throws SQLException;
+
+    /**
+     * Returns a reader for all rows of a query. Called once per query, before
+     * the first row.
+     *
+     * @param columns the cached column metadata of the query
+     * @return the reader
+     */
+    default Reader<T> bind(ColumnIndex columns) {
+        return rs -> map(rs, columns);
+    }
+}
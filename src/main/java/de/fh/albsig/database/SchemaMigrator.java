@@ -0,0 +1,122 @@
+package de.fh.albsig.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Brings the database schema up to date.
+ *
+ * <p>The schema version is kept in SQLite's {@code user_version} pragma. Every
+ * migration with a higher version than the stored one is applied in order, each
+ * in its own transaction together with the version bump, so a failed migration
+ * leaves the database at the previous version.</p>
+ *
+ * <p>To change the schema, append a new {@link Migration} with the next version
+ * number to {@link #MIGRATIONS}. Never edit a migration that has been released.</p>
+ */
+public final class SchemaMigrator {
+
+    private static final Logger logger = LogManager.getLogger(SchemaMigrator.class);
+
+    /**
+     * A numbered set of statements that moves the schema to the given version.
+     *
+     * @param version the schema version after this migration
+     * @param description a short description for the log
+     * @param statements the DDL statements to execute
+     */
+    public record Migration(int version, String description, List<String> statements) {
+    }
+
+    /** All migrations, ordered by version. */
+    static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Create Aggregate table", List.of("""
+                    CREATE TABLE IF NOT EXISTS Aggregate (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        name TEXT NOT NULL,
+                        fuel_cap FLOAT NOT NULL,
+                        consumption FLOAT NOT NULL,
+                        power_output FLOAT NOT NULL
+                    )
+                    """)),
+            new Migration(2, "Index Aggregate lookup columns", List.of(
+                    "CREATE INDEX IF NOT EXISTS idx_aggregate_name ON Aggregate (name)",
+                    "CREATE INDEX IF NOT EXISTS idx_aggregate_fuel_cap ON Aggregate (fuel_cap)",
+                    "CREATE INDEX IF NOT EXISTS idx_aggregate_power_output"
+                            + " ON Aggregate (power_output)"))
+    );
+
+    private SchemaMigrator() {
+    }
+
+    /**
+     * Returns the schema version the migrations lead to.
+     *
+     * @return the latest schema version
+     */
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+    }
+
+    /**
+     * Reads the schema version stored in the database.
+     *
+     * @param connection the connection to read from
+     * @return the stored version, 0 for a new database
+     * @throws SQLException if a database access error occurs
+     */
+    public static int currentVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Applies all pending migrations.
+     *
+     * @param connection the connection to migrate
+     * @return the number of migrations applied
+     * @throws SQLException if a migration fails; it is rolled back
+     */
+    public static int migrate(Connection connection) throws SQLException {
+        int current = currentVersion(connection);
+        int applied = 0;
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version() <= current) {
+                continue;
+            }
+            apply(connection, migration);
+            applied++;
+        }
+        if (applied > 0) {
+            logger.info("Database schema migrated from version {} to {}.",
+                    current, latestVersion());
+        }
+        return applied;
+    }
+
+    private static void apply(Connection connection, Migration migration) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement stmt = connection.createStatement()) {
+            for (String sql : migration.statements()) {
+                stmt.execute(sql);
+            }
+            // PRAGMA does not accept bind parameters; the version is an int constant
+            stmt.execute("PRAGMA user_version = " + migration.version());
+            connection.commit();
+            logger.info("Applied migration {}: {}", migration.version(), migration.description());
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
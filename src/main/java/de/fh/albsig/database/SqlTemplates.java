@@ -0,0 +1,336 @@
+package de.fh.albsig.database;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds and caches the SQL text of the statements {@link SqliteHelperMain} runs.
+ *
+ * <p>Table and column names are checked against a whitelist of known tables,
+ * and clauses may only reference known columns, SQL keywords, numbers and
+ * {@code ?} placeholders, so caller supplied strings cannot inject statements.
+ * Select lists may also contain the aggregates in {@link #AGGREGATES} over a
+ * single known column and aliases introduced by {@code AS}.
+ * Each statement shape is validated and assembled once; later calls return the
+ * same interned string, which the per-connection {@link StatementCache} maps to
+ * an already prepared statement. Apart from the small lookup key, a repeated
+ * call allocates nothing. At most {@link #MAX_TEMPLATES} shapes are kept, so
+ * clauses with inlined literals cannot grow the cache without bound; the least
+ * recently used shape is dropped first.</p>
+ */
+public final class SqlTemplates {
+
+    /** Maximum number of statement shapes kept in the cache. */
+    public static final int MAX_TEMPLATES = 512;
+
+    /** Largest parameter count whose placeholder list is precomputed. */
+    private static final int MAX_CACHED_ARITY = 64;
+
+    private static final String[] PLACEHOLDERS = new String[MAX_CACHED_ARITY + 1];
+
+    private static final Set<String> KEYWORDS = Set.of(
+            "and", "or", "not", "is", "null", "like", "glob", "in", "between", "escape",
+            "collate", "nocase", "true", "false", "order", "by", "asc", "desc", "limit",
+            "offset", "lower", "upper", "abs", "length", "coalesce");
+
+    /** Aggregate functions allowed in select lists, each over one column or {@code *}. */
+    private static final Set<String> AGGREGATES = Set.of("count", "sum", "avg", "min", "max", "total");
+
+    private static final Map<String, Set<String>> tables = new ConcurrentHashMap<>();
+    private static final Map<Shape, String> templates = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Shape, String> eldest) {
+            return size() > MAX_TEMPLATES;
+        }
+    };
+
+    static {
+        StringBuilder list = new StringBuilder();
+        PLACEHOLDERS[0] = "";
+        for (int i = 1; i <= MAX_CACHED_ARITY; i++) {
+            list.append(i == 1 ? "?" : ", ?");
+            PLACEHOLDERS[i] = list.toString().intern();
+        }
+        registerTable("Aggregate", "id", "name", "fuel_cap", "consumption", "power_output");
+    }
+
+    /**
+     * Statement kinds.
+     */
+    private enum Kind { INSERT, UPDATE, DELETE, SELECT }
+
+    /**
+     * Identifies one statement shape.
+     *
+     * @param kind the statement kind
+     * @param table the table as passed by the caller
+     * @param columns the column list or set clause, may be null
+     * @param whereClause the where clause, may be null
+     * @param arity the number of inserted values, 0 for other kinds
+     */
+    private record Shape(Kind kind, String table, String columns, String whereClause, int arity) {
+    }
+
+    private SqlTemplates() {
+    }
+
+    /**
+     * Adds a table and its columns to the whitelist.
+     *
+     * @param table the table name
+     * @param columns the column names
+     */
+    public static void registerTable(String table, String... columns) {
+        Set<String> names = ConcurrentHashMap.newKeySet();
+        for (String column : columns) {
+            names.add(requireIdentifier(column).toLowerCase(Locale.ROOT));
+        }
+        tables.put(requireIdentifier(table).toLowerCase(Locale.ROOT), names);
+    }
+
+    /**
+     * Returns whether a table is on the whitelist.
+     *
+     * @param table the table name
+     * @return true if the table is known
+     */
+    public static boolean isKnownTable(String table) {
+        return table != null && tables.containsKey(table.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the INSERT statement for a table and column list.
+     *
+     * @param table the table name
+     * @param columns the columns, separated by commas
+     * @param arity the number of values to bind
+     * @return the interned SQL text
+     * @throws IllegalArgumentException if the table or a column is unknown
+     */
+    public static String insert(String table, String columns, int arity) {
+        return template(new Shape(Kind.INSERT, table, columns, null, arity));
+    }
+
+    /**
+     * Returns the UPDATE statement for a table, set clause and where clause.
+     *
+     * @param table the table name
+     * @param setClause the set clause with placeholders
+     * @param whereClause the where clause with placeholders
+     * @return the interned SQL text
+     * @throws IllegalArgumentException if a clause references unknown identifiers
+     */
+    public static String update(String table, String setClause, String whereClause) {
+        return template(new Shape(Kind.UPDATE, table, setClause, whereClause, 0));
+    }
+
+    /**
+     * Returns the DELETE statement for a table and where clause.
+     *
+     * @param table the table name
+     * @param whereClause the where clause with placeholders
+     * @return the interned SQL text
+     * @throws IllegalArgumentException if the clause references unknown identifiers
+     */
+    public static String delete(String table, String whereClause) {
+        return template(new Shape(Kind.DELETE, table, null, whereClause, 0));
+    }
+
+    /**
+     * Returns the SELECT statement for a table, column list and optional filter.
+     *
+     * @param table the table name
+     * @param columns the columns, separated by commas; each may be a known column,
+     *                {@code *}, or an aggregate such as {@code COUNT(*)} or
+     *                {@code MAX(power_output)}, optionally followed by {@code AS alias}
+     * @param whereClause the where clause with placeholders, may be null or blank
+     * @return the interned SQL text
+     * @throws IllegalArgumentException if the table, a column or the clause is invalid
+     */
+    public static String select(String table, String columns, String whereClause) {
+        return template(new Shape(Kind.SELECT, table, columns, whereClause, 0));
+    }
+
+    /**
+     * Returns a comma separated list of placeholders.
+     *
+     * @param count the number of placeholders
+     * @return the placeholder list, e.g. "?, ?, ?"
+     */
+    public static String placeholders(int count) {
+        if (count <= MAX_CACHED_ARITY) {
+            return PLACEHOLDERS[count];
+        }
+        StringBuilder list = new StringBuilder(PLACEHOLDERS[MAX_CACHED_ARITY]);
+        for (int i = MAX_CACHED_ARITY; i < count; i++) {
+            list.append(", ?");
+        }
+        return list.toString();
+    }
+
+    /**
+     * Returns the number of cached statement shapes.
+     *
+     * @return the cache size, at most {@link #MAX_TEMPLATES}
+     */
+    static int cachedTemplates() {
+        synchronized (templates) {
+            return templates.size();
+        }
+    }
+
+    private static String template(Shape shape) {
+        synchronized (templates) {
+            String sql = templates.get(shape);
+            if (sql != null) {
+                return sql;
+            }
+        }
+        // Build outside the lock; a concurrent build yields the same interned string
+        String sql = build(shape);
+        synchronized (templates) {
+            templates.put(shape, sql);
+        }
+        return sql;
+    }
+
+    private static String build(Shape shape) {
+        String table = requireIdentifier(shape.table()).toLowerCase(Locale.ROOT);
+        Set<String> columns = tables.get(table);
+        if (columns == null) {
+            throw new IllegalArgumentException("Unknown table: " + shape.table());
+        }
+        String sql = switch (shape.kind()) {
+            case INSERT -> "INSERT INTO " + shape.table()
+                    + " (" + requireColumns(columns, shape.columns()) + ") VALUES ("
+                    + placeholders(shape.arity()) + ")";
+            case UPDATE -> "UPDATE " + shape.table()
+                    + " SET " + requireClause(columns, shape.columns())
+                    + " WHERE " + requireClause(columns, shape.whereClause());
+            case DELETE -> "DELETE FROM " + shape.table()
+                    + " WHERE " + requireClause(columns, shape.whereClause());
+            case SELECT -> {
+                String select = "SELECT " + requireSelectColumns(columns, shape.columns())
+                        + " FROM " + shape.table();
+                String where = shape.whereClause();
+                yield where == null || where.isBlank()
+                        ? select : select + " WHERE " + requireClause(columns, where);
+            }
+        };
+        return sql.intern();
+    }
+
+    private static String requireColumns(Set<String> known, String columns) {
+        if (columns == null || columns.isBlank()) {
+            throw new IllegalArgumentException("Column list must not be empty");
+        }
+        for (String column : columns.split(",")) {
+            requireColumn(known, column.trim());
+        }
+        return columns;
+    }
+
+    /**
+     * Checks a select list whose entries are a known column, {@code *} or an
+     * aggregate over one of them, each optionally aliased with {@code AS}.
+     */
+    private static String requireSelectColumns(Set<String> known, String columns) {
+        if (columns == null || columns.isBlank()) {
+            throw new IllegalArgumentException("Column list must not be empty");
+        }
+        for (String column : columns.split(",")) {
+            String term = column.trim();
+            int alias = term.toLowerCase(Locale.ROOT).lastIndexOf(" as ");
+            if (alias >= 0) {
+                requireIdentifier(term.substring(alias + 4).trim());
+                term = term.substring(0, alias).trim();
+            }
+            int open = term.indexOf('(');
+            if (open < 0) {
+                requireColumn(known, term);
+            } else if (term.endsWith(")")) {
+                String function = term.substring(0, open).trim().toLowerCase(Locale.ROOT);
+                String argument = term.substring(open + 1, term.length() - 1).trim();
+                if (!AGGREGATES.contains(function)) {
+                    throw new IllegalArgumentException("Unsupported function: " + function);
+                }
+                if ("*".equals(argument) && !"count".equals(function)) {
+                    throw new IllegalArgumentException("Only COUNT accepts *: " + term);
+                }
+                requireColumn(known, argument);
+            } else {
+                throw new IllegalArgumentException("Invalid column: " + term);
+            }
+        }
+        return columns;
+    }
+
+    private static void requireColumn(Set<String> known, String name) {
+        if (!"*".equals(name)
+                && !known.contains(requireIdentifier(name).toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("Unknown column: " + name);
+        }
+    }
+
+    /**
+     * Checks that a clause consists only of known columns, keywords, numbers,
+     * string literals, placeholders and operators.
+     */
+    private static String requireClause(Set<String> known, String clause) {
+        if (clause == null || clause.isBlank()) {
+            throw new IllegalArgumentException("Clause must not be empty");
+        }
+        int i = 0;
+        while (i < clause.length()) {
+            char c = clause.charAt(i);
+            if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < clause.length() && isIdentifierPart(clause.charAt(i))) {
+                    i++;
+                }
+                String word = clause.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!known.contains(word) && !KEYWORDS.contains(word)) {
+                    throw new IllegalArgumentException("Unknown identifier in clause: " + word);
+                }
+            } else if (c == '\'') {
+                int end = clause.indexOf('\'', i + 1);
+                while (end >= 0 && end + 1 < clause.length() && clause.charAt(end + 1) == '\'') {
+                    end = clause.indexOf('\'', end + 2);
+                }
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unterminated literal in clause: " + clause);
+                }
+                i = end + 1;
+            } else if (Character.isDigit(c) || Character.isWhitespace(c)
+                    || "?=<>!(),.+-*/%".indexOf(c) >= 0) {
+                if ((c == '-' || c == '/') && i + 1 < clause.length()
+                        && clause.charAt(i + 1) == (c == '-' ? '-' : '*')) {
+                    throw new IllegalArgumentException("Comments are not allowed in clauses");
+                }
+                i++;
+            } else {
+                throw new IllegalArgumentException("Invalid character '" + c + "' in clause");
+            }
+        }
+        return clause;
+    }
+
+    private static String requireIdentifier(String name) {
+        if (name == null || name.isEmpty() || Character.isDigit(name.charAt(0))) {
+            throw new IllegalArgumentException("Invalid identifier: " + name);
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (!isIdentifierPart(name.charAt(i))) {
+                throw new IllegalArgumentException("Invalid identifier: " + name);
+            }
+        }
+        return name;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
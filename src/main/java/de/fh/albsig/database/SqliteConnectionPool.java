@@ -0,0 +1,300 @@
+package de.fh.albsig.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A small bounded pool of long-lived SQLite connections.
+ *
+ * <p>Connections are opened on demand up to the configured size and then reused.
+ * A connection that has been idle longer than the validation interval is checked
+ * with {@link Connection#isValid(int)} before it is handed out again; broken
+ * connections are discarded and replaced.</p>
+ *
+ * <p>Usage example:</p>
+ * <pre>
+ * try (SqliteConnectionPool pool = new SqliteConnectionPool("jdbc:sqlite:test.db", 4)) {
+ *     try (PooledConnection pooled = pool.borrow()) {
+ *         pooled.getConnection().createStatement().execute("SELECT 1");
+ *     }
+ * }
+ * </pre>
+ */
+public class SqliteConnectionPool implements AutoCloseable {
+
+    /** Default number of connections kept by the pool. */
+    public static final int DEFAULT_POOL_SIZE = 4;
+
+    private static final long BORROW_TIMEOUT_MILLIS = 10_000;
+    private static final long VALIDATION_INTERVAL_MILLIS = 30_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final Logger logger = LogManager.getLogger(SqliteConnectionPool.class);
+
+    private final String url;
+    private final int maxSize;
+    private final int statementCacheSize;
+    private final SqliteProfile profile;
+    private final BlockingQueue<PooledConnection> idle;
+    private final List<PooledConnection> all = new ArrayList<>();
+    private final AtomicInteger opened = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool for the given JDBC URL.
+     *
+     * @param url the JDBC URL of the database
+     * @param maxSize the maximum number of open connections, at least 1
+     */
+    public SqliteConnectionPool(String url, int maxSize) {
+        this(url, maxSize, StatementCache.DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a pool for the given JDBC URL with a custom statement cache size.
+     *
+     * @param url the JDBC URL of the database
+     * @param maxSize the maximum number of open connections, at least 1
+     * @param statementCacheSize the prepared statements cached per connection, at least 1
+     */
+    public SqliteConnectionPool(String url, int maxSize, int statementCacheSize) {
+        this(url, maxSize, statementCacheSize, SqliteProfile.DRIVER_DEFAULTS);
+    }
+
+    /**
+     * Creates a pool for the given JDBC URL whose connections are configured with
+     * the pragmas of the given profile when they are opened.
+     *
+     * @param url the JDBC URL of the database
+     * @param maxSize the maximum number of open connections, at least 1
+     * @param statementCacheSize the prepared statements cached per connection, at least 1
+     * @param profile the pragmas applied to new connections
+     */
+    public SqliteConnectionPool(String url, int maxSize, int statementCacheSize,
+                                SqliteProfile profile) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        if (statementCacheSize < 1) {
+            throw new IllegalArgumentException("Statement cache size must be at least 1");
+        }
+        this.url = url;
+        this.maxSize = maxSize;
+        this.statementCacheSize = statementCacheSize;
+        this.profile = profile;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+    }
+
+    /**
+     * Opens connections until the pool is full so the first callers do not pay
+     * the connection cost.
+     *
+     * @throws SQLException if a connection cannot be opened
+     */
+    public void warmUp() throws SQLException {
+        while (opened.get() < maxSize) {
+            PooledConnection pooled = tryOpen();
+            if (pooled == null) {
+                return;
+            }
+            idle.offer(pooled);
+        }
+    }
+
+    /**
+     * Borrows a connection, opening a new one if the pool is not yet full and
+     * waiting for a free one otherwise.
+     *
+     * @return a healthy pooled connection
+     * @throws SQLException if the pool is closed, no connection becomes free in
+     *                      time or a new connection cannot be opened
+     */
+    public PooledConnection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        PooledConnection pooled = idle.poll();
+        if (pooled == null) {
+            pooled = tryOpen();
+        }
+        if (pooled == null) {
+            try {
+                pooled = idle.poll(BORROW_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a connection", e);
+            }
+            if (pooled == null) {
+                throw new SQLException("Timed out waiting for a database connection");
+            }
+        }
+        PooledConnection healthy = ensureHealthy(pooled);
+        healthy.markBorrowed();
+        return healthy;
+    }
+
+    /**
+     * Returns a connection to the pool. Called by {@link PooledConnection#close()}.
+     * A second release of the same borrow is ignored, so the connection cannot
+     * sit in the idle queue twice. An open transaction is rolled back, so the
+     * next borrower gets a clean connection in autocommit mode.
+     *
+     * @param pooled the connection to return
+     */
+    void release(PooledConnection pooled) {
+        if (!pooled.markReturned()) {
+            logger.warn("Ignoring repeated release of a pooled connection to {}", url);
+            return;
+        }
+        pooled.touch();
+        try {
+            Connection connection = pooled.getConnection();
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.warn("Discarding pooled connection that could not be reset: {}",
+                    e.getMessage(), e);
+            discard(pooled);
+            return;
+        }
+        if (closed || !idle.offer(pooled)) {
+            discard(pooled);
+        }
+    }
+
+    /**
+     * Returns the maximum number of connections this pool keeps open.
+     *
+     * @return the pool size
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of physical connections currently open.
+     *
+     * @return the open connection count
+     */
+    public int getOpenCount() {
+        return opened.get();
+    }
+
+    /**
+     * Returns the number of prepared statements reused from the caches of all
+     * open connections.
+     *
+     * @return the statement cache hit count
+     */
+    public long getStatementCacheHits() {
+        long hits = 0;
+        synchronized (all) {
+            for (PooledConnection pooled : all) {
+                hits += pooled.getStatementCache().getHitCount();
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Returns the number of prepared statements compiled by all open connections.
+     *
+     * @return the statement cache miss count
+     */
+    public long getStatementCacheMisses() {
+        long misses = 0;
+        synchronized (all) {
+            for (PooledConnection pooled : all) {
+                misses += pooled.getStatementCache().getMissCount();
+            }
+        }
+        return misses;
+    }
+
+    /**
+     * Closes all idle connections. Connections still borrowed are closed as soon
+     * as they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection pooled;
+        while ((pooled = idle.poll()) != null) {
+            discard(pooled);
+        }
+        logger.info("Connection pool for {} closed.", url);
+    }
+
+    private PooledConnection ensureHealthy(PooledConnection pooled) throws SQLException {
+        long idleMillis = System.currentTimeMillis() - pooled.getLastUsedMillis();
+        if (idleMillis < VALIDATION_INTERVAL_MILLIS && !pooled.getConnection().isClosed()) {
+            return pooled;
+        }
+        if (pooled.getConnection().isValid(VALIDATION_TIMEOUT_SECONDS)) {
+            pooled.touch();
+            return pooled;
+        }
+        logger.warn("Discarding broken pooled connection to {}", url);
+        discard(pooled);
+        PooledConnection replacement = tryOpen();
+        if (replacement == null) {
+            throw new SQLException("Could not replace broken database connection");
+        }
+        return replacement;
+    }
+
+    private PooledConnection tryOpen() throws SQLException {
+        int current;
+        do {
+            current = opened.get();
+            if (current >= maxSize) {
+                return null;
+            }
+        } while (!opened.compareAndSet(current, current + 1));
+
+        try {
+            Connection connection = DriverManager.getConnection(url);
+            try {
+                profile.apply(connection);
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+            PooledConnection pooled =
+                    new PooledConnection(this, connection, statementCacheSize);
+            synchronized (all) {
+                all.add(pooled);
+            }
+            return pooled;
+        } catch (SQLException e) {
+            opened.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        boolean removed;
+        synchronized (all) {
+            removed = all.remove(pooled);
+        }
+        if (removed) {
+            opened.decrementAndGet();
+        }
+        try {
+            pooled.getStatementCache().clear();
+            pooled.getConnection().close();
+        } catch (SQLException e) {
+            logger.warn("Failed to close pooled connection: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package de.fh.albsig.database;
 
+import de.fh.albsig.database.DataAccessLog.Operation;
 import java.io.File;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 /**
@@ -38,66 +49,392 @@ import org.apache.logging.log4j.Logger;
  *     }
  *     </pre>
  * </ul>
+ *
+ * <p>All CRUD methods run on connections taken from a shared
+ * {@link SqliteConnectionPool}, which is created on first use and closed by
+ * {@link #shutdown()}. Data is kept in {@code local_database.db} unless another
+ * {@link StorageMode} is selected with {@link #configureStorage}.</p>
  */
 
 public class SqliteHelperMain {
 
     private static final String DATABASE_FILE = "local_database.db";
-    private static final String DATABASE_URL = "jdbc:sqlite:" + DATABASE_FILE;
+    private static final String MEMORY_URL_PREFIX = "jdbc:sqlite:file:/stagecraft-";
     private static final Logger logger = LogManager.getLogger(SqliteHelperMain.class);
 
+    /** Default number of rows sent to SQLite per executeBatch call. */
+    public static final int DEFAULT_BATCH_CHUNK_SIZE = 500;
+
+    /** Default number of rows the driver reads ahead for streaming selects. */
+    public static final int DEFAULT_FETCH_SIZE = 256;
+
+    private static final Map<String, ColumnIndex> columnIndexes = new ConcurrentHashMap<>();
+    private static final AtomicInteger memoryDatabases = new AtomicInteger();
+
+    private static int poolSize = SqliteConnectionPool.DEFAULT_POOL_SIZE;
+    private static int statementCacheSize = StatementCache.DEFAULT_CACHE_SIZE;
+    private static SqliteProfile profile = SqliteProfile.TUNED;
+    private static volatile WriteBehindQueue writeBehind;
+    private static volatile QueryCache queryCache;
+    private static SqliteConnectionPool pool;
+    private static StorageMode storageMode = StorageMode.FILE;
+    private static String databaseFile = DATABASE_FILE;
+    private static String memoryUrl;
+
     /**
      * Checks if the database file exists. If not, creates a new one.
      */
     public static void ensureDatabaseFileExists() {
-        File dbFile = new File(DATABASE_FILE);
+        String fileName = currentDatabaseFile();
+        File dbFile = new File(fileName);
         if (!dbFile.exists()) {
             try {
                 if (dbFile.createNewFile()) {
-                    logger.info("Database file created: {}", DATABASE_FILE);
+                    logger.info("Database file created: {}", fileName);
                 }
             } catch (Exception e) {
                 logger.error("Failed to create database file: {}", e.getMessage(), e);
             }
         } else {
-            logger.info("Database file already exists: {}", DATABASE_FILE);
+            logger.debug("Database file already exists: {}", fileName);
+        }
+    }
+
+    /**
+     * Selects where data is stored. Queued write-behind mutations are committed
+     * to the current storage, then an already open pool is closed and replaced
+     * on next use; in {@link StorageMode#SNAPSHOT} mode it is saved first.
+     *
+     * @param mode the storage backend
+     * @param file the database file, used as snapshot file in snapshot mode and
+     *             ignored in memory mode
+     */
+    public static void configureStorage(StorageMode mode, String file) {
+        // Outside the lock: the committer needs pool() to drain the queue
+        flush();
+        synchronized (SqliteHelperMain.class) {
+            closePool();
+            storageMode = mode;
+            databaseFile = file;
+        }
+        logger.info("Storage configured: mode={}, file={}", mode, file);
+    }
+
+    /**
+     * Returns the configured storage backend.
+     *
+     * @return the storage mode
+     */
+    public static synchronized StorageMode currentStorageMode() {
+        return storageMode;
+    }
+
+    /**
+     * Writes an in-memory database to its snapshot file using SQLite's online
+     * backup API. Does nothing in {@link StorageMode#FILE} and
+     * {@link StorageMode#MEMORY} mode.
+     *
+     * @return true if a snapshot was written
+     */
+    public static synchronized boolean saveSnapshot() {
+        if (storageMode != StorageMode.SNAPSHOT) {
+            return false;
+        }
+        try (PooledConnection pooled = pool().borrow();
+             Statement stmt = pooled.getConnection().createStatement()) {
+            stmt.executeUpdate("backup to " + quote(databaseFile));
+            logger.info("Snapshot written to {}", databaseFile);
+            return true;
+        } catch (SQLException e) {
+            logger.error("Failed to write snapshot to {}: {}", databaseFile, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private static synchronized String currentDatabaseFile() {
+        return databaseFile;
+    }
+
+    /**
+     * Returns the JDBC URL of the configured database. In-memory databases use
+     * SQLite's memdb VFS under a name that is unique to the current pool: unlike
+     * a shared-cache database its connections use ordinary file locks, so
+     * contention is resolved by busy_timeout instead of failing with
+     * SQLITE_LOCKED, and a new pool never sees the data of an old one.
+     */
+    private static synchronized String currentUrl() {
+        if (storageMode == StorageMode.FILE) {
+            return "jdbc:sqlite:" + databaseFile;
+        }
+        if (memoryUrl == null) {
+            memoryUrl = MEMORY_URL_PREFIX + memoryDatabases.incrementAndGet() + "?vfs=memdb";
         }
+        return memoryUrl;
+    }
+
+    private static String quote(String file) {
+        return '"' + file.replace("\"", "") + '"';
     }
 
     /**
-     * Establishes a connection to the SQLite database.
+     * Establishes a new, unpooled connection to the SQLite database.
+     * The caller is responsible for closing it.
      *
      * @return a Connection object
      * @throws SQLException if a database access error occurs
      */
     public static Connection connect() throws SQLException {
-        ensureDatabaseFileExists();
-        return DriverManager.getConnection(DATABASE_URL);
+        if (currentStorageMode() == StorageMode.FILE) {
+            ensureDatabaseFileExists();
+        }
+        Connection connection = DriverManager.getConnection(currentUrl());
+        try {
+            currentProfile().apply(connection);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    /**
+     * Sets the pragmas applied to every new connection. Defaults to
+     * {@link SqliteProfile#TUNED}. Queued write-behind mutations are committed
+     * first, then an already open pool is closed and replaced on next use.
+     *
+     * @param newProfile the startup profile
+     */
+    public static void configureProfile(SqliteProfile newProfile) {
+        flush();
+        synchronized (SqliteHelperMain.class) {
+            profile = newProfile;
+            closePool();
+        }
+    }
+
+    /**
+     * Returns the startup profile applied to new connections.
+     *
+     * @return the current profile
+     */
+    public static synchronized SqliteProfile currentProfile() {
+        return profile;
+    }
+
+    /**
+     * Sets the number of pooled connections. Queued write-behind mutations are
+     * committed first, then an already open pool is closed and replaced on next use.
+     *
+     * @param size the maximum number of pooled connections, at least 1
+     */
+    public static void configurePool(int size) {
+        int cacheSize;
+        synchronized (SqliteHelperMain.class) {
+            cacheSize = statementCacheSize;
+        }
+        configurePool(size, cacheSize);
+    }
+
+    /**
+     * Sets the number of pooled connections and the number of prepared statements
+     * each of them caches. Queued write-behind mutations are committed first,
+     * then an already open pool is closed and replaced on next use.
+     *
+     * @param size the maximum number of pooled connections, at least 1
+     * @param cacheSize the prepared statements cached per connection, at least 1
+     */
+    public static void configurePool(int size, int cacheSize) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Statement cache size must be at least 1");
+        }
+        flush();
+        synchronized (SqliteHelperMain.class) {
+            poolSize = size;
+            statementCacheSize = cacheSize;
+            closePool();
+        }
+    }
+
+    /**
+     * Returns the configured number of pooled connections without opening the pool.
+     *
+     * @return the maximum number of pooled connections
+     */
+    static synchronized int configuredPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Returns the shared connection pool, creating it on first use.
+     *
+     * @return the connection pool
+     */
+    static synchronized SqliteConnectionPool pool() {
+        if (pool == null) {
+            if (storageMode == StorageMode.FILE) {
+                ensureDatabaseFileExists();
+            }
+            pool = new SqliteConnectionPool(currentUrl(), poolSize, statementCacheSize, profile);
+            logger.info("Connection pool created with {} connections.", poolSize);
+            if (storageMode == StorageMode.SNAPSHOT) {
+                restoreSnapshot(pool);
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Loads the snapshot file into a freshly created in-memory database.
+     *
+     * @param target the pool of the in-memory database
+     */
+    private static void restoreSnapshot(SqliteConnectionPool target) {
+        File snapshot = new File(databaseFile);
+        if (!snapshot.isFile() || snapshot.length() == 0) {
+            logger.info("No snapshot at {}, starting with an empty database.", databaseFile);
+            return;
+        }
+        try (PooledConnection pooled = target.borrow();
+             Statement stmt = pooled.getConnection().createStatement()) {
+            stmt.executeUpdate("restore from " + quote(databaseFile));
+            logger.info("Snapshot restored from {}", databaseFile);
+        } catch (SQLException e) {
+            logger.error("Failed to restore snapshot from {}: {}",
+                    databaseFile, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Routes insert, update and delete through a {@link WriteBehindQueue} that
+     * commits them in groups on a background thread. Batch methods still write
+     * directly but flush the queue first, so they apply after every mutation
+     * queued before them. Calling this again replaces the queue after flushing it.
+     *
+     * @param config the queue settings
+     */
+    public static void enableWriteBehind(WriteBehindQueue.Config config) {
+        WriteBehindQueue previous;
+        synchronized (SqliteHelperMain.class) {
+            previous = writeBehind;
+            writeBehind = new WriteBehindQueue(config);
+        }
+        if (previous != null) {
+            previous.close();
+        }
+        logger.info("Write-behind enabled: {}", config);
+    }
+
+    /**
+     * Commits all queued mutations and writes directly again.
+     */
+    public static void disableWriteBehind() {
+        WriteBehindQueue previous;
+        synchronized (SqliteHelperMain.class) {
+            previous = writeBehind;
+            writeBehind = null;
+        }
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Blocks until all mutations queued in write-behind mode are committed.
+     * Does nothing if write-behind is disabled.
+     */
+    public static void flush() {
+        WriteBehindQueue queue = writeBehind;
+        if (queue != null) {
+            queue.flush();
+        }
+    }
+
+    /**
+     * Puts a read-through cache in front of
+     * {@link #select(String, String, String, Object...)}. Cached results of a table
+     * are dropped whenever it is written through this class.
+     *
+     * @param maxEntries the maximum number of cached results
+     * @param ttlMillis how long a result stays valid
+     */
+    public static void enableQueryCache(int maxEntries, long ttlMillis) {
+        queryCache = new QueryCache(maxEntries, ttlMillis);
+        logger.info("Query cache enabled: maxEntries={}, ttl={} ms", maxEntries, ttlMillis);
+    }
+
+    /**
+     * Removes the read-through cache.
+     */
+    public static void disableQueryCache() {
+        queryCache = null;
+    }
+
+    /**
+     * Returns the read-through cache, for example to read its hit ratio.
+     *
+     * @return the cache, or null if it is disabled
+     */
+    public static QueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    /**
+     * Drops cached select results of a table. Called after every write.
+     *
+     * @param table the name of the table
+     */
+    static void invalidate(String table) {
+        QueryCache cache = queryCache;
+        if (cache != null) {
+            cache.invalidate(table);
+        }
+    }
+
+    /**
+     * Commits queued mutations and closes the shared connection pool. The pool
+     * is recreated on the next database call, so this is safe to call more than
+     * once.
+     */
+    public static void shutdown() {
+        // The committer needs pool() to finish, so the queue is closed without holding the lock
+        disableWriteBehind();
+        closePool();
+        DataAccessLog.logSummary();
+    }
+
+    private static synchronized void closePool() {
+        columnIndexes.clear();
+        QueryCache cache = queryCache;
+        if (cache != null) {
+            cache.clear();
+        }
+        if (pool != null && storageMode == StorageMode.SNAPSHOT) {
+            saveSnapshot();
+        }
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+        memoryUrl = null;
     }
 
     /**
-     * Initializes the database with required tables.
-     * Creates tables if they do not exist.
+     * Initializes the database with required tables and indexes.
+     * Applies all pending schema migrations, see {@link SchemaMigrator}.
      */
     public static void initializeDatabase() {
-        String createTableSql = """
-            CREATE TABLE IF NOT EXISTS Aggregate (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                name TEXT NOT NULL,
-                fuel_cap FLOAT NOT NULL,
-                consumption FLOAT NOT NULL,
-                power_output FLOAT NOT NULL
-            );
-            """;
-
-        try (Connection conn = connect();
-             PreparedStatement stmt = conn.prepareStatement(createTableSql)) {
-            stmt.execute();
+        try (PooledConnection pooled = pool().borrow()) {
+            SchemaMigrator.migrate(pooled.getConnection());
+            pool().warmUp();
             logger.info("Database initialized successfully.");
         } catch (SQLException e) {
             logger.error("Failed to initialize database: {}", e.getMessage(), e);
         }
     }
+
     /**
      * Inserts a row into a specified table with specified column values.
      *
@@ -107,18 +444,35 @@ public class SqliteHelperMain {
      */
 
     public static void insert(String table, String columns, Object... values) {
-        String placeholders = "?".repeat(values.length).replace("", ", ").trim().substring(1);
-        placeholders = placeholders.substring(0, placeholders.length() - 1);
-        String sql = String.format("INSERT INTO %s (%s) VALUES (%s)", table, columns, placeholders);
+        try {
+            insertOrThrow(table, columns, values);
+        } catch (SQLException e) {
+            logger.error("Failed to insert into table {}: {}", table, e.getMessage(), e);
+        }
+    }
 
-        try (Connection conn = connect();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    /**
+     * Inserts like {@link #insert} but reports failures to the caller.
+     *
+     * @throws SQLException if the statement fails
+     */
+    static void insertOrThrow(String table, String columns, Object... values) throws SQLException {
+        String sql = insertSql(table, columns, values.length);
+
+        if (submitWriteBehind(table, sql, values)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try (PooledConnection pooled = pool().borrow()) {
+            PreparedStatement stmt = pooled.prepare(sql);
             setParameters(stmt, values);
-            stmt.executeUpdate();
-            logger.info("Inserted into table {}: columns=[{}], values={}", table, columns, values);
+            int rows = stmt.executeUpdate();
+            DataAccessLog.record(Operation.INSERT, table, rows, start);
         } catch (SQLException e) {
-            logger.error("Failed to insert into table {}: {}", table, e.getMessage(), e);
+            DataAccessLog.recordFailure(Operation.INSERT);
+            throw e;
         }
+        invalidate(table);
     }
 
     /**
@@ -131,17 +485,36 @@ public class SqliteHelperMain {
      */
     public static void update(String table, String setClause,
                               String whereClause, Object... values) {
-        String sql = String.format("UPDATE %s SET %s WHERE %s", table, setClause, whereClause);
+        try {
+            updateOrThrow(table, setClause, whereClause, values);
+        } catch (SQLException e) {
+            logger.error("Failed to update table {}: {}", table, e.getMessage(), e);
+        }
+    }
 
-        try (Connection conn = connect();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    /**
+     * Updates like {@link #update} but reports failures to the caller.
+     *
+     * @throws SQLException if the statement fails
+     */
+    static void updateOrThrow(String table, String setClause,
+                              String whereClause, Object... values) throws SQLException {
+        String sql = updateSql(table, setClause, whereClause);
+
+        if (submitWriteBehind(table, sql, values)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try (PooledConnection pooled = pool().borrow()) {
+            PreparedStatement stmt = pooled.prepare(sql);
             setParameters(stmt, values);
-            stmt.executeUpdate();
-            logger.info("Updated table {}: set={}, where={},"
-                    + " values={}", table, setClause, whereClause, values);
+            int rows = stmt.executeUpdate();
+            DataAccessLog.record(Operation.UPDATE, table, rows, start);
         } catch (SQLException e) {
-            logger.error("Failed to update table {}: {}", table, e.getMessage(), e);
+            DataAccessLog.recordFailure(Operation.UPDATE);
+            throw e;
         }
+        invalidate(table);
     }
 
     /**
@@ -152,18 +525,143 @@ public class SqliteHelperMain {
      * @param values the values to bind to the placeholders in the where clause
      */
     public static void delete(String table, String whereClause, Object... values) {
-        String sql = String.format("DELETE FROM %s WHERE %s", table, whereClause);
+        try {
+            deleteOrThrow(table, whereClause, values);
+        } catch (SQLException e) {
+            logger.error("Failed to delete from table {}: {}", table, e.getMessage(), e);
+        }
+    }
 
-        try (Connection conn = connect();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    /**
+     * Deletes like {@link #delete} but reports failures to the caller.
+     *
+     * @throws SQLException if the statement fails
+     */
+    static void deleteOrThrow(String table, String whereClause,
+                              Object... values) throws SQLException {
+        String sql = deleteSql(table, whereClause);
+
+        if (submitWriteBehind(table, sql, values)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try (PooledConnection pooled = pool().borrow()) {
+            PreparedStatement stmt = pooled.prepare(sql);
             setParameters(stmt, values);
-            stmt.executeUpdate();
-            logger.info("Deleted from table {}: where={}, values={}", table, whereClause, values);
+            int rows = stmt.executeUpdate();
+            DataAccessLog.record(Operation.DELETE, table, rows, start);
         } catch (SQLException e) {
-            logger.error("Failed to delete from table {}: {}", table, e.getMessage(), e);
+            DataAccessLog.recordFailure(Operation.DELETE);
+            throw e;
+        }
+        invalidate(table);
+    }
+
+    /**
+     * Inserts many rows into a table in a single transaction.
+     *
+     * @param table the name of the table
+     * @param columns the columns to insert into, separated by commas
+     * @param rows the rows to insert, each matching the order of the columns
+     * @return the number of inserted rows, or 0 if the batch was rolled back
+     */
+    public static int insertBatch(String table, String columns, List<Object[]> rows) {
+        return insertBatch(table, columns, rows, DEFAULT_BATCH_CHUNK_SIZE);
+    }
+
+    /**
+     * Inserts many rows into a table in a single transaction, sending them to
+     * SQLite in chunks of the given size. If any row fails the whole batch is
+     * rolled back.
+     *
+     * @param table the name of the table
+     * @param columns the columns to insert into, separated by commas
+     * @param rows the rows to insert, each matching the order of the columns
+     * @param chunkSize the number of rows per executeBatch call
+     * @return the number of inserted rows, or 0 if the batch was rolled back
+     */
+    public static int insertBatch(String table, String columns,
+                                  List<Object[]> rows, int chunkSize) {
+        try {
+            return insertBatchOrThrow(table, columns, rows, chunkSize);
+        } catch (SQLException e) {
+            logger.error("Batch insert into table {} rolled back: {}", table, e.getMessage(), e);
+            return 0;
         }
     }
 
+    /**
+     * Inserts like {@link #insertBatch(String, String, List, int)} but reports
+     * failures to the caller.
+     *
+     * @throws SQLException if any row fails and the batch was rolled back
+     */
+    static int insertBatchOrThrow(String table, String columns,
+                                  List<Object[]> rows, int chunkSize) throws SQLException {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        String sql = insertSql(table, columns, rows.get(0).length);
+        flush();
+        int inserted = executeBatch(Operation.BATCH_INSERT, table, sql, rows, chunkSize);
+        invalidate(table);
+        return inserted;
+    }
+
+    /**
+     * Updates rows of a table in a single transaction, once per parameter set.
+     *
+     * @param table the name of the table
+     * @param setClause the columns to update with placeholders (e.g., "col1 = ?, col2 = ?")
+     * @param whereClause the WHERE clause with placeholders (e.g., "id = ?")
+     * @param rows the parameter sets for the set and where clauses
+     * @return the number of updated rows, or 0 if the batch was rolled back
+     */
+    public static int updateBatch(String table, String setClause,
+                                  String whereClause, List<Object[]> rows) {
+        return updateBatch(table, setClause, whereClause, rows, DEFAULT_BATCH_CHUNK_SIZE);
+    }
+
+    /**
+     * Updates rows of a table in a single transaction, sending the parameter
+     * sets to SQLite in chunks of the given size. If any update fails the whole
+     * batch is rolled back.
+     *
+     * @param table the name of the table
+     * @param setClause the columns to update with placeholders (e.g., "col1 = ?, col2 = ?")
+     * @param whereClause the WHERE clause with placeholders (e.g., "id = ?")
+     * @param rows the parameter sets for the set and where clauses
+     * @param chunkSize the number of parameter sets per executeBatch call
+     * @return the number of updated rows, or 0 if the batch was rolled back
+     */
+    public static int updateBatch(String table, String setClause, String whereClause,
+                                  List<Object[]> rows, int chunkSize) {
+        try {
+            return updateBatchOrThrow(table, setClause, whereClause, rows, chunkSize);
+        } catch (SQLException e) {
+            logger.error("Batch update of table {} rolled back: {}", table, e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * Updates like {@link #updateBatch(String, String, String, List, int)} but
+     * reports failures to the caller.
+     *
+     * @throws SQLException if any update fails and the batch was rolled back
+     */
+    static int updateBatchOrThrow(String table, String setClause, String whereClause,
+                                  List<Object[]> rows, int chunkSize) throws SQLException {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        String sql = updateSql(table, setClause, whereClause);
+        flush();
+        int updated = executeBatch(Operation.BATCH_UPDATE, table, sql, rows, chunkSize);
+        invalidate(table);
+        return updated;
+    }
+
     /**
      * Selects rows from a specified table and returns the results as a 2D array.
      *
@@ -175,32 +673,558 @@ public class SqliteHelperMain {
      */
     public static Object[][] select(String table, String columns,
                                     String whereClause, Object... values) {
-        String sql = String.format("SELECT %s FROM %s", columns, table);
-        if (whereClause != null && !whereClause.isBlank()) {
-            sql += " WHERE " + whereClause;
+        try {
+            return selectOrThrow(table, columns, whereClause, values);
+        } catch (SQLException e) {
+            logger.error("Failed to select from table {}: {}", table, e.getMessage(), e);
+            return new Object[0][];
         }
+    }
 
+    /**
+     * Selects like {@link #select} but reports failures to the caller.
+     *
+     * @throws SQLException if the query fails
+     */
+    static Object[][] selectOrThrow(String table, String columns, String whereClause,
+                                    Object... values) throws SQLException {
+        QueryCache cache = queryCache;
+        long generation = 0;
+        if (cache != null) {
+            Object[][] cached = cache.get(table, columns, whereClause, values);
+            if (cached != null) {
+                return cached;
+            }
+            generation = cache.generation();
+        }
+        String sql = selectSql(table, columns, whereClause);
+
+        long start = System.nanoTime();
         List<Object[]> results = new ArrayList<>();
-        try (Connection conn = connect();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PooledConnection pooled = pool().borrow()) {
+            PreparedStatement stmt = pooled.prepare(sql);
             setParameters(stmt, values);
             try (ResultSet rs = stmt.executeQuery()) {
                 int columnCount = rs.getMetaData().getColumnCount();
                 while (rs.next()) {
-                    Object[] row = new Object[columnCount];
-                    for (int i = 1; i <= columnCount; i++) {
-                        row[i - 1] = rs.getObject(i);
+                    results.add(readRow(rs, columnCount));
+                }
+            }
+            DataAccessLog.record(Operation.SELECT, table, results.size(), start);
+        } catch (SQLException e) {
+            DataAccessLog.recordFailure(Operation.SELECT);
+            throw e;
+        }
+        Object[][] rows = results.toArray(new Object[0][]);
+        if (cache != null) {
+            cache.put(generation, table, columns, whereClause, values, rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Selects rows from a table and maps each of them with the given mapper.
+     * The column metadata of the query is resolved once and cached, and the
+     * mapper is bound to it once per query.
+     *
+     * @param table the name of the table
+     * @param columns the columns to select, separated by commas
+     * @param whereClause the WHERE clause with placeholders (optional, can be null)
+     * @param mapper the mapper turning a row into an object
+     * @param values the values to bind to the placeholders in the where clause
+     * @param <T> the mapped type
+     * @return the mapped rows
+     */
+    public static <T> List<T> selectAs(String table, String columns, String whereClause,
+                                       RowMapper<T> mapper, Object... values) {
+        try {
+            return selectAsOrThrow(table, columns, whereClause, mapper, values);
+        } catch (SQLException e) {
+            logger.error("Failed to select from table {}: {}", table, e.getMessage(), e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Selects like {@link #selectAs} but reports failures to the caller.
+     *
+     * @throws SQLException if the query or the mapper fails
+     */
+    static <T> List<T> selectAsOrThrow(String table, String columns, String whereClause,
+                                       RowMapper<T> mapper, Object... values)
+            throws SQLException {
+        String sql = selectSql(table, columns, whereClause);
+        long start = System.nanoTime();
+        List<T> results = new ArrayList<>();
+        try (PooledConnection pooled = pool().borrow()) {
+            PreparedStatement stmt = pooled.prepare(sql);
+            setParameters(stmt, values);
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper.Reader<T> reader = mapper.bind(columnIndex(sql, rs));
+                while (rs.next()) {
+                    results.add(reader.read(rs));
+                }
+            }
+            DataAccessLog.record(Operation.SELECT, table, results.size(), start);
+        } catch (SQLException e) {
+            DataAccessLog.recordFailure(Operation.SELECT);
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * Selects generators from the {@code Aggregate} table.
+     *
+     * @param whereClause the WHERE clause with placeholders (optional, can be null)
+     * @param values the values to bind to the placeholders in the where clause
+     * @return the matching generators
+     */
+    public static List<Aggregate> selectAggregates(String whereClause, Object... values) {
+        return selectAs(Aggregate.TABLE, Aggregate.COLUMNS, whereClause, Aggregate.MAPPER, values);
+    }
+
+    /**
+     * Selects a single numeric column into a primitive array.
+     *
+     * @param table the name of the table
+     * @param column the column to select
+     * @param whereClause the WHERE clause with placeholders (optional, can be null)
+     * @param values the values to bind to the placeholders in the where clause
+     * @return the column values in row order; null values are read as 0.0
+     */
+    public static double[] selectDoubleColumn(String table, String column,
+                                              String whereClause, Object... values) {
+        long start = System.nanoTime();
+        double[] result = new double[64];
+        int size = 0;
+        try (PooledConnection pooled = pool().borrow()) {
+            String sql = selectSql(table, column, whereClause);
+            PreparedStatement stmt = pooled.prepare(sql);
+            setParameters(stmt, values);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (size == result.length) {
+                        result = Arrays.copyOf(result, size * 2);
                     }
-                    results.add(row);
+                    result[size++] = rs.getDouble(1);
                 }
             }
-            logger.info("Selected from table {}: columns=[{}],"
-                            + " where={}, values={}, rows fetched={}.",
-                    table, columns, whereClause, values, results.size());
+            DataAccessLog.record(Operation.SELECT, table, size, start);
         } catch (SQLException e) {
+            DataAccessLog.recordFailure(Operation.SELECT);
             logger.error("Failed to select from table {}: {}", table, e.getMessage(), e);
         }
-        return results.toArray(new Object[0][]);
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Selects rows from a table and passes them one by one to the callback
+     * without collecting them first.
+     *
+     * @param table the name of the table
+     * @param columns the columns to select, separated by commas
+     * @param whereClause the WHERE clause with placeholders (optional, can be null)
+     * @param action the callback invoked for every row
+     * @param values the values to bind to the placeholders in the where clause
+     * @return the number of rows passed to the callback
+     */
+    public static int selectEach(String table, String columns, String whereClause,
+                                 Consumer<Row> action, Object... values) {
+        return selectEach(table, columns, whereClause, DEFAULT_FETCH_SIZE, action, values);
+    }
+
+    /**
+     * Selects rows from a table and passes them one by one to the callback
+     * without collecting them first, reading ahead the given number of rows.
+     *
+     * @param table the name of the table
+     * @param columns the columns to select, separated by commas
+     * @param whereClause the WHERE clause with placeholders (optional, can be null)
+     * @param fetchSize the number of rows the driver reads ahead
+     * @param action the callback invoked for every row
+     * @param values the values to bind to the placeholders in the where clause
+     * @return the number of rows passed to the callback
+     */
+    public static int selectEach(String table, String columns, String whereClause,
+                                 int fetchSize, Consumer<Row> action, Object... values) {
+        int[] count = {0};
+        try {
+            selectEachOrThrow(table, columns, whereClause, fetchSize, row -> {
+                action.accept(row);
+                count[0]++;
+            }, values);
+        } catch (SQLException e) {
+            logger.error("Failed to stream from table {}: {}", table, e.getMessage(), e);
+        }
+        return count[0];
+    }
+
+    /**
+     * Streams like {@link #selectEach(String, String, String, int, Consumer, Object...)}
+     * but reports failures to the caller.
+     *
+     * @throws SQLException if the query fails; rows read before the failure
+     *                      have already been passed to the callback
+     */
+    static int selectEachOrThrow(String table, String columns, String whereClause,
+                                 int fetchSize, Consumer<Row> action, Object... values)
+            throws SQLException {
+        String sql = selectSql(table, columns, whereClause);
+        long start = System.nanoTime();
+        int count = 0;
+        try (PooledConnection pooled = pool().borrow()) {
+            PreparedStatement stmt = pooled.prepare(sql);
+            stmt.setFetchSize(fetchSize);
+            setParameters(stmt, values);
+            try (ResultSet rs = stmt.executeQuery()) {
+                int columnCount = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    action.accept(new Row(readRow(rs, columnCount)));
+                    count++;
+                }
+            }
+            DataAccessLog.record(Operation.STREAM, table, count, start);
+        } catch (SQLException e) {
+            DataAccessLog.recordFailure(Operation.STREAM);
+            throw e;
+        }
+        return count;
+    }
+
+    /**
+     * Selects rows from a table and passes them one by one to a mapper without
+     * collecting them. The mapper is bound to the column metadata once per
+     * query, so it reads typed values at pre-resolved positions straight from
+     * the result set instead of boxing them into a {@link Row}. Whatever the
+     * mapper returns is discarded; it is expected to store the values itself.
+     *
+     * @param table the name of the table
+     * @param columns the columns to select, separated by commas
+     * @param whereClause the WHERE clause with placeholders (optional, can be null)
+     * @param mapper the mapper invoked for every row
+     * @param values the values to bind to the placeholders in the where clause
+     * @return the number of rows passed to the mapper
+     */
+    public static int selectEach(String table, String columns, String whereClause,
+                                 RowMapper<?> mapper, Object... values) {
+        long start = System.nanoTime();
+        int count = 0;
+        try (PooledConnection pooled = pool().borrow()) {
+            String sql = selectSql(table, columns, whereClause);
+            PreparedStatement stmt = pooled.prepare(sql);
+            stmt.setFetchSize(DEFAULT_FETCH_SIZE);
+            setParameters(stmt, values);
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper.Reader<?> reader = mapper.bind(columnIndex(sql, rs));
+                while (rs.next()) {
+                    reader.read(rs);
+                    count++;
+                }
+            }
+            DataAccessLog.record(Operation.STREAM, table, count, start);
+        } catch (SQLException e) {
+            DataAccessLog.recordFailure(Operation.STREAM);
+            logger.error("Failed to stream from table {}: {}", table, e.getMessage(), e);
+        }
+        return count;
+    }
+
+    /**
+     * Selects rows from a table as a lazily populated stream. The stream keeps
+     * a pooled connection open until it is closed, so it must be used in a
+     * try-with-resources block:
+     * <pre>
+     * try (Stream&lt;Row&gt; rows = SqliteHelperMain.stream("Aggregate", "name", null)) {
+     *     rows.forEach(row -&gt; System.out.println(row.getString(0)));
+     * }
+     * </pre>
+     *
+     * @param table the name of the table
+     * @param columns the columns to select, separated by commas
+     * @param whereClause the WHERE clause with placeholders (optional, can be null)
+     * @param values the values to bind to the placeholders in the where clause
+     * @return a stream of rows that must be closed
+     */
+    public static Stream<Row> stream(String table, String columns,
+                                     String whereClause, Object... values) {
+        return stream(table, columns, whereClause, DEFAULT_FETCH_SIZE, values);
+    }
+
+    /**
+     * Selects rows from a table as a lazily populated stream, reading ahead the
+     * given number of rows. The stream must be closed.
+     *
+     * @param table the name of the table
+     * @param columns the columns to select, separated by commas
+     * @param whereClause the WHERE clause with placeholders (optional, can be null)
+     * @param fetchSize the number of rows the driver reads ahead
+     * @param values the values to bind to the placeholders in the where clause
+     * @return a stream of rows that must be closed
+     * @throws IllegalStateException if reading a row fails while the stream is consumed
+     */
+    public static Stream<Row> stream(String table, String columns, String whereClause,
+                                     int fetchSize, Object... values) {
+        long start = System.nanoTime();
+        PooledConnection pooled = null;
+        try {
+            String sql = selectSql(table, columns, whereClause);
+            pooled = pool().borrow();
+            PreparedStatement stmt = pooled.prepare(sql);
+            stmt.setFetchSize(fetchSize);
+            setParameters(stmt, values);
+            ResultSet rs = stmt.executeQuery();
+            int columnCount = rs.getMetaData().getColumnCount();
+            PooledConnection owner = pooled;
+            int[] count = {0};
+            boolean[] failed = {false};
+            Spliterator<Row> rows = new Spliterators.AbstractSpliterator<>(
+                    Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super Row> action) {
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(new Row(readRow(rs, columnCount)));
+                        count[0]++;
+                        return true;
+                    } catch (SQLException e) {
+                        failed[0] = true;
+                        throw new IllegalStateException("Failed to read row from " + table, e);
+                    }
+                }
+            };
+            return StreamSupport.stream(rows, false).onClose(() -> {
+                // Counts the rows actually consumed, timed until the stream is closed
+                if (failed[0]) {
+                    DataAccessLog.recordFailure(Operation.STREAM);
+                } else {
+                    DataAccessLog.record(Operation.STREAM, table, count[0], start);
+                }
+                try {
+                    rs.close();
+                } catch (SQLException e) {
+                    logger.warn("Failed to close result set: {}", e.getMessage(), e);
+                } finally {
+                    owner.close();
+                }
+            });
+        } catch (SQLException e) {
+            DataAccessLog.recordFailure(Operation.STREAM);
+            logger.error("Failed to stream from table {}: {}", table, e.getMessage(), e);
+            if (pooled != null) {
+                pooled.close();
+            }
+            return Stream.empty();
+        }
+    }
+
+    /**
+     * Runs one statement for every parameter set inside a single transaction.
+     *
+     * @param operation the operation recorded in the access log
+     * @param table the table the statement writes to
+     * @param sql the statement to execute
+     * @param rows the parameter sets
+     * @param chunkSize the number of parameter sets per executeBatch call
+     * @return the number of affected rows
+     * @throws SQLException if any parameter set fails and the transaction was rolled back
+     */
+    private static int executeBatch(Operation operation, String table, String sql,
+                                    List<Object[]> rows, int chunkSize) throws SQLException {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        long start = System.nanoTime();
+        try (PooledConnection pooled = pool().borrow()) {
+            checkArity(rows);
+            Connection conn = pooled.getConnection();
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            PreparedStatement stmt = null;
+            try {
+                stmt = pooled.prepare(sql);
+                int affected = 0;
+                int pending = 0;
+                for (Object[] row : rows) {
+                    setParameters(stmt, row);
+                    stmt.addBatch();
+                    if (++pending == chunkSize) {
+                        affected += sum(stmt.executeBatch());
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    affected += sum(stmt.executeBatch());
+                }
+                conn.commit();
+                DataAccessLog.record(operation, table, affected, start);
+                return affected;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                if (stmt != null) {
+                    // The cached statement outlives this call, so drop the rolled-back rows
+                    try {
+                        stmt.clearBatch();
+                    } catch (SQLException clearFailure) {
+                        e.addSuppressed(clearFailure);
+                    }
+                }
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            DataAccessLog.recordFailure(operation);
+            throw e;
+        }
+    }
+
+    /**
+     * Checks that every parameter set of a batch has as many values as the
+     * first one, so no row silently reuses values bound for the previous row.
+     *
+     * @param rows the parameter sets
+     * @throws SQLException if a parameter set has a different number of values
+     */
+    private static void checkArity(List<Object[]> rows) throws SQLException {
+        int arity = rows.get(0).length;
+        for (int i = 1; i < rows.size(); i++) {
+            if (rows.get(i).length != arity) {
+                throw new SQLException(String.format(
+                        "Row %d has %d values, expected %d", i, rows.get(i).length, arity));
+            }
+        }
+    }
+
+    /**
+     * Returns the INSERT statement for a table. An unknown table or column is
+     * reported like any other failed statement, so the public helpers log it
+     * and return their failure value instead of throwing.
+     *
+     * @throws SQLException if the table or a column is not on the whitelist
+     */
+    private static String insertSql(String table, String columns, int arity)
+            throws SQLException {
+        try {
+            return SqlTemplates.insert(table, columns, arity);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the UPDATE statement for a table, see {@link #insertSql}.
+     *
+     * @throws SQLException if a clause references unknown identifiers
+     */
+    private static String updateSql(String table, String setClause, String whereClause)
+            throws SQLException {
+        try {
+            return SqlTemplates.update(table, setClause, whereClause);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the DELETE statement for a table, see {@link #insertSql}.
+     *
+     * @throws SQLException if the clause references unknown identifiers
+     */
+    private static String deleteSql(String table, String whereClause) throws SQLException {
+        try {
+            return SqlTemplates.delete(table, whereClause);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the SELECT statement for a table, see {@link #insertSql}.
+     *
+     * @throws SQLException if the table, a column or the clause is invalid
+     */
+    private static String selectSql(String table, String columns, String whereClause)
+            throws SQLException {
+        try {
+            return SqlTemplates.select(table, columns, whereClause);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sums the update counts returned by executeBatch.
+     *
+     * @param counts the update counts
+     * @return the total number of affected rows
+     */
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += Math.max(count, 0);
+        }
+        return total;
+    }
+
+    /**
+     * Hands a mutation to the write-behind queue if write-behind is enabled.
+     *
+     * @param table the table the statement writes to
+     * @param sql the statement
+     * @param values the values to bind
+     * @return true if the mutation was queued, false if it must run directly
+     * @throws SQLException if the queue commits synchronously and the mutation failed
+     */
+    private static boolean submitWriteBehind(String table, String sql, Object... values)
+            throws SQLException {
+        WriteBehindQueue queue = writeBehind;
+        if (queue == null) {
+            return false;
+        }
+        try {
+            queue.submit(table, sql, values);
+            return true;
+        } catch (IllegalStateException e) {
+            // The queue was closed concurrently; fall back to a direct write
+            return false;
+        }
+    }
+
+    /**
+     * Returns the cached column metadata of a query, resolving it from the
+     * result set on first use.
+     *
+     * @param sql the SQL text of the query
+     * @param rs the result set of the query
+     * @return the column metadata
+     * @throws SQLException if the metadata cannot be read
+     */
+    private static ColumnIndex columnIndex(String sql, ResultSet rs) throws SQLException {
+        ColumnIndex index = columnIndexes.get(sql);
+        if (index == null) {
+            index = ColumnIndex.of(rs.getMetaData());
+            columnIndexes.put(sql, index);
+        }
+        return index;
+    }
+
+    /**
+     * Copies the current row of a result set into an array.
+     *
+     * @param rs the result set positioned on a row
+     * @param columnCount the number of columns
+     * @return the column values
+     * @throws SQLException if a database access error occurs
+     */
+    private static Object[] readRow(ResultSet rs, int columnCount) throws SQLException {
+        Object[] row = new Object[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            row[i - 1] = rs.getObject(i);
+        }
+        return row;
     }
 
     /**
@@ -210,8 +1234,8 @@ public class SqliteHelperMain {
      * @param parameters the parameters to bind
      * @throws SQLException if a database access error occurs
      */
-    private static void setParameters(PreparedStatement stmt,
-                                      Object... parameters) throws SQLException {
+    static void setParameters(PreparedStatement stmt,
+                              Object... parameters) throws SQLException {
         for (int i = 0; i < parameters.length; i++) {
             stmt.setObject(i + 1, parameters[i]);
         }
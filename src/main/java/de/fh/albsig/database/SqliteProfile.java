@@ -0,0 +1,92 @@
+package de.fh.albsig.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Pragmas applied to every connection when it is opened.
+ *
+ * <p>{@link #DRIVER_DEFAULTS} leaves SQLite as the driver opens it (rollback
+ * journal, synchronous=FULL). {@link #TUNED} switches to write-ahead logging,
+ * which lets readers run while a write is in progress and only needs an fsync
+ * at checkpoints when combined with synchronous=NORMAL.</p>
+ *
+ * @param journalMode the journal mode, null keeps the current mode
+ * @param synchronous the synchronous level, null keeps the default
+ * @param cacheSizeKib the page cache size in KiB, 0 keeps the default
+ * @param mmapSizeBytes the memory-mapped I/O size in bytes, 0 disables it
+ * @param tempStore where temporary tables are kept, null keeps the default
+ * @param busyTimeoutMillis how long to wait for a lock before failing, 0 fails at once
+ */
+public record SqliteProfile(JournalMode journalMode, Synchronous synchronous,
+                            int cacheSizeKib, long mmapSizeBytes,
+                            TempStore tempStore, int busyTimeoutMillis) {
+
+    /** Leaves the driver defaults untouched. */
+    public static final SqliteProfile DRIVER_DEFAULTS =
+            new SqliteProfile(null, null, 0, 0, null, 0);
+
+    /** WAL journal, synchronous=NORMAL, 16 MiB cache, 256 MiB mmap, in-memory temp store. */
+    public static final SqliteProfile TUNED = new SqliteProfile(JournalMode.WAL,
+            Synchronous.NORMAL, 16 * 1024, 256L * 1024 * 1024, TempStore.MEMORY, 5_000);
+
+    /**
+     * SQLite journal modes.
+     */
+    public enum JournalMode { DELETE, TRUNCATE, PERSIST, MEMORY, WAL, OFF }
+
+    /**
+     * SQLite synchronous levels.
+     */
+    public enum Synchronous { OFF, NORMAL, FULL, EXTRA }
+
+    /**
+     * Storage locations for temporary tables and indexes.
+     */
+    public enum TempStore { DEFAULT, FILE, MEMORY }
+
+    /**
+     * Validates the numeric settings.
+     */
+    public SqliteProfile {
+        if (cacheSizeKib < 0 || mmapSizeBytes < 0 || busyTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Profile sizes must not be negative");
+        }
+    }
+
+    /**
+     * Applies the pragmas of this profile to a connection.
+     *
+     * @param connection the connection to configure
+     * @throws SQLException if a pragma cannot be executed
+     */
+    public void apply(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            if (busyTimeoutMillis > 0) {
+                stmt.execute("PRAGMA busy_timeout = " + busyTimeoutMillis);
+            }
+            if (journalMode != null) {
+                stmt.execute("PRAGMA journal_mode = " + name(journalMode));
+            }
+            if (synchronous != null) {
+                stmt.execute("PRAGMA synchronous = " + name(synchronous));
+            }
+            if (cacheSizeKib > 0) {
+                // A negative cache_size is interpreted by SQLite as KiB instead of pages
+                stmt.execute("PRAGMA cache_size = -" + cacheSizeKib);
+            }
+            if (mmapSizeBytes > 0) {
+                stmt.execute("PRAGMA mmap_size = " + mmapSizeBytes);
+            }
+            if (tempStore != null) {
+                stmt.execute("PRAGMA temp_store = " + name(tempStore));
+            }
+        }
+    }
+
+    private static String name(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,124 @@
+package de.fh.albsig.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * LRU cache of prepared statements for a single connection, keyed by SQL text.
+ *
+ * <p>Statements handed out by {@link #prepare(String)} stay owned by the cache and
+ * must not be closed by the caller. The cache is not thread-safe; it relies on the
+ * owning {@link PooledConnection} being used by one thread at a time. Only the
+ * hit and miss counters may be read from other threads.</p>
+ */
+public class StatementCache {
+
+    /** Default number of statements cached per connection. */
+    public static final int DEFAULT_CACHE_SIZE = 32;
+
+    private static final Logger logger = LogManager.getLogger(StatementCache.class);
+
+    private final Connection connection;
+    private final int maxSize;
+    private final Map<String, PreparedStatement> statements;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a statement cache for the given connection.
+     *
+     * @param connection the connection statements are prepared on
+     * @param maxSize the maximum number of cached statements, at least 1
+     */
+    public StatementCache(Connection connection, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns a prepared statement for the SQL text, reusing a cached one if
+     * available. Parameters and queued batch rows of a reused statement are
+     * cleared.
+     *
+     * @param sql the SQL text
+     * @return the prepared statement, owned by this cache
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement stmt = statements.get(sql);
+        if (stmt != null && !stmt.isClosed()) {
+            hits.increment();
+            stmt.clearParameters();
+            stmt.clearBatch();
+            return stmt;
+        }
+        misses.increment();
+        stmt = connection.prepareStatement(sql);
+        statements.put(sql, stmt);
+        return stmt;
+    }
+
+    /**
+     * Returns the number of statements currently cached.
+     *
+     * @return the cached statement count
+     */
+    public int size() {
+        return statements.size();
+    }
+
+    /**
+     * Returns how often a cached statement was reused.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how often a statement had to be prepared.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Closes and removes all cached statements.
+     */
+    public void clear() {
+        for (PreparedStatement stmt : statements.values()) {
+            closeQuietly(stmt);
+        }
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            logger.warn("Failed to close cached statement: {}", e.getMessage(), e);
+        }
+    }
+}
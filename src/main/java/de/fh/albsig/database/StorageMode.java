@@ -0,0 +1,23 @@
+package de.fh.albsig.database;
+
+/**
+ * Where {@link SqliteHelperMain} keeps its data.
+ */
+public enum StorageMode {
+
+    /** A database file on disk; every commit is written to it. */
+    FILE,
+
+    /**
+     * An in-memory database that is shared only by the connections of one pool
+     * and discarded when the pool is closed.
+     */
+    MEMORY,
+
+    /**
+     * An in-memory database that is loaded from the database file when the pool is
+     * created and written back with SQLite's online backup API by
+     * {@link SqliteHelperMain#saveSnapshot()} and on shutdown.
+     */
+    SNAPSHOT
+}
@@ -0,0 +1,295 @@
+package de.fh.albsig.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Buffers insert, update and delete statements and commits them in groups on a
+ * background thread.
+ *
+ * <p>A group is committed when {@link Config#maxBatchSize()} mutations are
+ * waiting or {@link Config#flushIntervalMillis()} has passed since the first
+ * one arrived, whichever comes first. The queue is bounded; when it is full,
+ * {@link #submit(String, String, Object...)} blocks until the committer catches up.</p>
+ *
+ * <p>If a group fails, its mutations are retried one by one so a single bad
+ * statement does not discard the others.</p>
+ */
+public class WriteBehindQueue implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(WriteBehindQueue.class);
+
+    /**
+     * When a caller of {@link #submit(String, String, Object...)} gets control back.
+     */
+    public enum Durability {
+        /** Return as soon as the mutation is queued; it may be lost on a crash. */
+        BUFFERED,
+        /** Block until the group containing the mutation is committed and report failures. */
+        COMMITTED
+    }
+
+    /**
+     * Settings of a write-behind queue.
+     *
+     * @param capacity the maximum number of queued mutations
+     * @param maxBatchSize the maximum number of mutations per transaction
+     * @param flushIntervalMillis the maximum time a mutation waits before commit
+     * @param durability when submit returns
+     */
+    public record Config(int capacity, int maxBatchSize, long flushIntervalMillis,
+                         Durability durability) {
+
+        /** 10 000 queued mutations, groups of up to 500, flushed every 50 ms. */
+        public static final Config DEFAULT = new Config(10_000, 500, 50, Durability.BUFFERED);
+
+        /**
+         * Validates the settings.
+         */
+        public Config {
+            if (capacity < 1 || maxBatchSize < 1 || flushIntervalMillis < 1) {
+                throw new IllegalArgumentException("Write-behind settings must be positive");
+            }
+        }
+    }
+
+    /**
+     * A queued statement. A mutation without SQL is a flush marker.
+     */
+    private record Mutation(String table, String sql, Object[] values,
+                            CompletableFuture<Void> done) {
+    }
+
+    private final Config config;
+    private final BlockingQueue<Mutation> queue;
+    private final Thread committer;
+    /** Held shared while queueing and exclusively while closing. */
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    /**
+     * Creates the queue and starts its committer thread.
+     *
+     * @param config the queue settings
+     */
+    public WriteBehindQueue(Config config) {
+        this.config = config;
+        this.queue = new ArrayBlockingQueue<>(config.capacity());
+        this.committer = new Thread(this::run, "db-write-behind");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /**
+     * Queues a mutation. Blocks while the queue is full and, with
+     * {@link Durability#COMMITTED}, until the mutation is committed. The values
+     * are copied, so the caller may reuse the array.
+     *
+     * @param table the table the statement writes to
+     * @param sql the statement to execute
+     * @param values the values to bind
+     * @throws SQLException with {@link Durability#COMMITTED}, if the mutation failed
+     *                      or the caller was interrupted before it was committed
+     * @throws IllegalStateException if the queue is closed
+     */
+    public void submit(String table, String sql, Object... values) throws SQLException {
+        Mutation mutation = new Mutation(table, sql, values.clone(), new CompletableFuture<>());
+        if (!enqueue(mutation)) {
+            throw new IllegalStateException("Write-behind queue is closed");
+        }
+        if (config.durability() == Durability.COMMITTED) {
+            await(mutation.done());
+        }
+    }
+
+    /**
+     * Blocks until every mutation queued before this call is committed.
+     */
+    public void flush() {
+        Mutation marker = new Mutation(null, null, null, new CompletableFuture<>());
+        if (!enqueue(marker)) {
+            return;
+        }
+        try {
+            await(marker.done());
+        } catch (SQLException e) {
+            logger.error("Write-behind flush failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of mutations waiting to be committed.
+     *
+     * @return the queue length
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Commits everything still queued and stops the committer thread.
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        flush();
+        closeLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        committer.interrupt();
+        try {
+            committer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues a mutation unless the queue is closed. Holding the close lock
+     * shared keeps {@link #close()} from stopping the committer between the
+     * check and the put.
+     *
+     * @return false if the queue is closed
+     */
+    private boolean enqueue(Mutation mutation) {
+        closeLock.readLock().lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            queue.put(mutation);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a mutation", e);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    private static void await(CompletableFuture<Void> future) throws SQLException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while awaiting commit", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException cause) {
+                throw cause;
+            }
+            throw new SQLException("Write-behind mutation failed", e.getCause());
+        }
+    }
+
+    private void run() {
+        List<Mutation> group = new ArrayList<>(config.maxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                Mutation first = queue.take();
+                group.add(first);
+                long deadline = System.nanoTime()
+                        + TimeUnit.MILLISECONDS.toNanos(config.flushIntervalMillis());
+                while (group.size() < config.maxBatchSize() && first.sql() != null) {
+                    long remaining = deadline - System.nanoTime();
+                    Mutation next = remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                    if (next.sql() == null) {
+                        break;
+                    }
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    queue.drainTo(group);
+                }
+            }
+            commit(group);
+            group.clear();
+        }
+    }
+
+    private void commit(List<Mutation> group) {
+        if (group.isEmpty()) {
+            return;
+        }
+        try (PooledConnection pooled = SqliteHelperMain.pool().borrow()) {
+            try {
+                executeInTransaction(pooled, group);
+                complete(group, null);
+                logger.debug("Write-behind committed {} mutations.", group.size());
+            } catch (SQLException e) {
+                logger.warn("Write-behind group of {} failed, retrying one by one: {}",
+                        group.size(), e.getMessage());
+                for (Mutation mutation : group) {
+                    try {
+                        executeInTransaction(pooled, List.of(mutation));
+                        complete(List.of(mutation), null);
+                    } catch (SQLException single) {
+                        logger.error("Write-behind mutation [{}] failed: {}",
+                                mutation.sql(), single.getMessage(), single);
+                        complete(List.of(mutation), single);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Write-behind could not get a connection: {}", e.getMessage(), e);
+            complete(group, e);
+        }
+    }
+
+    private static void executeInTransaction(PooledConnection pooled, List<Mutation> mutations)
+            throws SQLException {
+        Connection conn = pooled.getConnection();
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            for (Mutation mutation : mutations) {
+                if (mutation.sql() == null) {
+                    continue;
+                }
+                PreparedStatement stmt = pooled.prepare(mutation.sql());
+                SqliteHelperMain.setParameters(stmt, mutation.values());
+                stmt.executeUpdate();
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void complete(List<Mutation> mutations, Throwable error) {
+        for (Mutation mutation : mutations) {
+            if (mutation.table() != null) {
+                SqliteHelperMain.invalidate(mutation.table());
+            }
+            if (error == null) {
+                mutation.done().complete(null);
+            } else {
+                mutation.done().completeExceptionally(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package de.fh.albsig.generator;
+
+import java.util.List;
+
+/**
+ * Result of planning a fleet against a load profile.
+ *
+ * @param totalPowerKw the combined rated power of the fleet
+ * @param peakLoadKw the highest load of the profile
+ * @param redundancyMarginKw the power left at peak load after losing the largest
+ *                           unit; negative if N+1 redundancy is not met
+ * @param overloadedSteps the number of steps whose load exceeds the fleet power
+ * @param fuelLitres the fuel burnt over the whole profile
+ * @param refuels the refuel stops, ordered by time
+ */
+public record FleetPlan(double totalPowerKw, double peakLoadKw, double redundancyMarginKw,
+                        int overloadedSteps, double fuelLitres, List<Refuel> refuels) {
+
+    /**
+     * A point in time at which a unit runs out of fuel and must be refilled.
+     *
+     * @param unit the unit index in the fleet
+     * @param name the unit name
+     * @param atHours the time since the start of the profile in hours
+     */
+    public record Refuel(int unit, String name, double atHours) {
+    }
+
+    /**
+     * Copies the refuel list.
+     */
+    public FleetPlan {
+        refuels = List.copyOf(refuels);
+    }
+
+    /**
+     * Returns whether the fleet still covers the peak load after losing its
+     * largest unit.
+     *
+     * @return true if N+1 redundancy is met
+     */
+    public boolean isRedundant() {
+        return redundancyMarginKw >= 0;
+    }
+}
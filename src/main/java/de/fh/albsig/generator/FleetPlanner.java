@@ -0,0 +1,135 @@
+package de.fh.albsig.generator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * FleetPlanner works out runtimes, refuel schedules and N+1 redundancy of a
+ * generator fleet for a show's load profile.
+ *
+ * <p>The load is shared by all units in proportion to their rated power, so
+ * every unit runs at the same load fraction {@code load / totalPower}. Fuel
+ * consumption scales linearly with that fraction:</p>
+ * <pre>
+ * runtime = fuel_cap / (consumption * loadFraction)
+ * </pre>
+ *
+ * <p>All loops run over the primitive arrays of a {@link GeneratorFleet}, one
+ * pass per profile step, so fleets of thousands of units are planned in
+ * milliseconds.</p>
+ */
+public class FleetPlanner {
+
+    private static final Logger logger = LogManager.getLogger(FleetPlanner.class);
+
+    /**
+     * Computes the runtime of every unit on a full tank at a given load
+     * fraction, writing the results into the caller's array.
+     * Formula: runtime = fuel_cap / (consumption * loadFraction)
+     *
+     * @param fleet        The generator fleet.
+     * @param loadFraction The share of the rated power each unit delivers (0 to 1).
+     * @param runtimeHours The output array, at least as long as the fleet; units
+     *                     that burn no fuel get {@link Double#POSITIVE_INFINITY}.
+     */
+    public void computeRuntimes(GeneratorFleet fleet, double loadFraction, double[] runtimeHours) {
+        if (loadFraction < 0 || loadFraction > 1) {
+            logger.info("Illegal load fraction entered");
+            throw new IllegalArgumentException("Load fraction must be between 0 and 1");
+        }
+        if (runtimeHours.length < fleet.size()) {
+            throw new IllegalArgumentException("Output array is shorter than the fleet");
+        }
+        double[] fuelCap = fleet.fuelCapArray();
+        double[] consumption = fleet.consumptionArray();
+        for (int i = 0; i < fuelCap.length; i++) {
+            double burn = consumption[i] * loadFraction;
+            runtimeHours[i] = burn > 0 ? fuelCap[i] / burn : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Computes the runtime of every unit on a full tank at a given load fraction.
+     *
+     * @param fleet        The generator fleet.
+     * @param loadFraction The share of the rated power each unit delivers (0 to 1).
+     * @return The runtime of each unit in hours.
+     */
+    public double[] computeRuntimes(GeneratorFleet fleet, double loadFraction) {
+        double[] runtimeHours = new double[fleet.size()];
+        computeRuntimes(fleet, loadFraction, runtimeHours);
+        return runtimeHours;
+    }
+
+    /**
+     * Checks N+1 redundancy: the fleet minus its largest unit must still cover
+     * the peak load.
+     *
+     * @param fleet  The generator fleet.
+     * @param peakKw The peak load in kW.
+     * @return The remaining margin in kW; negative if redundancy is not met.
+     */
+    public double computeRedundancyMargin(GeneratorFleet fleet, double peakKw) {
+        return fleet.totalPower() - fleet.largestUnitPower() - peakKw;
+    }
+
+    /**
+     * Simulates the fleet over a load profile, starting with full tanks, and
+     * records when each unit runs dry and has to be refuelled. Units without
+     * fuel capacity or consumption deliver power but are not simulated.
+     *
+     * @param fleet   The generator fleet.
+     * @param profile The load profile of the show.
+     * @return The plan with redundancy margin, fuel use and refuel stops.
+     */
+    public FleetPlan plan(GeneratorFleet fleet, LoadProfile profile) {
+        double[] fuelCap = fleet.fuelCapArray();
+        double[] consumption = fleet.consumptionArray();
+        double[] level = fuelCap.clone();
+        double totalPower = fleet.totalPower();
+        double stepHours = profile.stepHours();
+        List<FleetPlan.Refuel> refuels = new ArrayList<>();
+        int overloadedSteps = 0;
+        double fuel = 0;
+
+        for (int step = 0; step < profile.steps(); step++) {
+            double load = profile.loadAt(step);
+            if (load > totalPower) {
+                overloadedSteps++;
+            }
+            if (load == 0 || totalPower == 0) {
+                continue;
+            }
+            double fraction = Math.min(load / totalPower, 1.0);
+            double stepStart = step * stepHours;
+            for (int i = 0; i < level.length; i++) {
+                double burn = consumption[i] * fraction;
+                if (burn <= 0 || fuelCap[i] <= 0) {
+                    continue;
+                }
+                double needed = burn * stepHours;
+                fuel += needed;
+                if (level[i] >= needed) {
+                    level[i] -= needed;
+                    continue;
+                }
+                // The tank runs dry during this step; refill as often as needed
+                double elapsed = 0;
+                while (level[i] < burn * (stepHours - elapsed)) {
+                    elapsed += level[i] / burn;
+                    refuels.add(new FleetPlan.Refuel(i, fleet.nameOf(i), stepStart + elapsed));
+                    level[i] = fuelCap[i];
+                }
+                level[i] -= burn * (stepHours - elapsed);
+            }
+        }
+        refuels.sort(Comparator.comparingDouble(FleetPlan.Refuel::atHours));
+
+        double peak = profile.peakKw();
+        return new FleetPlan(totalPower, peak, computeRedundancyMargin(fleet, peak),
+                overloadedSteps, fuel, refuels);
+    }
+}
@@ -0,0 +1,226 @@
+package de.fh.albsig.generator;
+
+import de.fh.albsig.database.Aggregate;
+import de.fh.albsig.database.ColumnIndex;
+import de.fh.albsig.database.RowMapper;
+import de.fh.albsig.database.SqliteHelperMain;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Column-oriented snapshot of the generators in the {@code Aggregate} table.
+ *
+ * <p>Each property is stored in its own primitive array indexed by unit, so
+ * the planning loops in {@link FleetPlanner} run over contiguous memory
+ * without boxing.</p>
+ */
+public final class GeneratorFleet {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final String[] names;
+    private final double[] fuelCap;
+    private final double[] consumption;
+    private final double[] powerOutput;
+
+    /**
+     * Creates a fleet from parallel arrays. The arrays are copied.
+     *
+     * @param names the unit names
+     * @param fuelCap the tank capacities in litres
+     * @param consumption the fuel consumption at full load in litres per hour
+     * @param powerOutput the rated power in kW
+     */
+    public GeneratorFleet(String[] names, double[] fuelCap, double[] consumption,
+                          double[] powerOutput) {
+        int size = names.length;
+        if (fuelCap.length != size || consumption.length != size || powerOutput.length != size) {
+            throw new IllegalArgumentException("Fleet arrays must have the same length");
+        }
+        this.names = names.clone();
+        this.fuelCap = fuelCap.clone();
+        this.consumption = consumption.clone();
+        this.powerOutput = powerOutput.clone();
+    }
+
+    /**
+     * Creates a fleet from generator records.
+     *
+     * @param aggregates the generators
+     * @return the fleet
+     */
+    public static GeneratorFleet of(List<Aggregate> aggregates) {
+        int size = aggregates.size();
+        String[] names = new String[size];
+        double[] fuelCap = new double[size];
+        double[] consumption = new double[size];
+        double[] powerOutput = new double[size];
+        for (int i = 0; i < size; i++) {
+            Aggregate aggregate = aggregates.get(i);
+            names[i] = aggregate.name();
+            fuelCap[i] = aggregate.fuelCap();
+            consumption[i] = aggregate.consumption();
+            powerOutput[i] = aggregate.powerOutput();
+        }
+        return new GeneratorFleet(names, fuelCap, consumption, powerOutput);
+    }
+
+    /**
+     * Loads all generators from the database in one streaming pass.
+     *
+     * @return the fleet
+     */
+    public static GeneratorFleet load() {
+        return load(null);
+    }
+
+    /**
+     * Loads the matching generators from the database in one streaming pass,
+     * reading each value with a typed getter at a column position resolved once
+     * per query and writing it straight into the column arrays.
+     *
+     * @param whereClause the WHERE clause with placeholders (optional, can be null)
+     * @param values the values to bind to the placeholders
+     * @return the fleet
+     */
+    public static GeneratorFleet load(String whereClause, Object... values) {
+        Builder builder = new Builder();
+        SqliteHelperMain.selectEach(Aggregate.TABLE, Aggregate.COLUMNS, whereClause,
+                builder, values);
+        return builder.build();
+    }
+
+    /**
+     * Returns the number of units.
+     *
+     * @return the fleet size
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the name of a unit.
+     *
+     * @param unit the unit index
+     * @return the name
+     */
+    public String nameOf(int unit) {
+        return names[unit];
+    }
+
+    /**
+     * Returns the tank capacity of a unit.
+     *
+     * @param unit the unit index
+     * @return the capacity in litres
+     */
+    public double fuelCapOf(int unit) {
+        return fuelCap[unit];
+    }
+
+    /**
+     * Returns the full-load consumption of a unit.
+     *
+     * @param unit the unit index
+     * @return the consumption in litres per hour
+     */
+    public double consumptionOf(int unit) {
+        return consumption[unit];
+    }
+
+    /**
+     * Returns the rated power of a unit.
+     *
+     * @param unit the unit index
+     * @return the power in kW
+     */
+    public double powerOutputOf(int unit) {
+        return powerOutput[unit];
+    }
+
+    /**
+     * Returns the combined rated power of all units.
+     *
+     * @return the total power in kW
+     */
+    public double totalPower() {
+        double total = 0;
+        for (double power : powerOutput) {
+            total += power;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the rated power of the largest unit.
+     *
+     * @return the largest power in kW, 0 for an empty fleet
+     */
+    public double largestUnitPower() {
+        double largest = 0;
+        for (double power : powerOutput) {
+            largest = Math.max(largest, power);
+        }
+        return largest;
+    }
+
+    double[] fuelCapArray() {
+        return fuelCap;
+    }
+
+    double[] consumptionArray() {
+        return consumption;
+    }
+
+    /**
+     * Collects rows into growing column arrays.
+     */
+    private static final class Builder implements RowMapper<Void> {
+        private String[] names = new String[INITIAL_CAPACITY];
+        private double[] fuelCap = new double[INITIAL_CAPACITY];
+        private double[] consumption = new double[INITIAL_CAPACITY];
+        private double[] powerOutput = new double[INITIAL_CAPACITY];
+        private int size;
+
+        void add(String name, double cap, double litresPerHour, double power) {
+            if (size == names.length) {
+                int capacity = size * 2;
+                names = Arrays.copyOf(names, capacity);
+                fuelCap = Arrays.copyOf(fuelCap, capacity);
+                consumption = Arrays.copyOf(consumption, capacity);
+                powerOutput = Arrays.copyOf(powerOutput, capacity);
+            }
+            names[size] = name;
+            fuelCap[size] = cap;
+            consumption[size] = litresPerHour;
+            powerOutput[size] = power;
+            size++;
+        }
+
+        @Override
+        public Void map(ResultSet rs, ColumnIndex columns) throws SQLException {
+            return bind(columns).read(rs);
+        }
+
+        @Override
+        public Reader<Void> bind(ColumnIndex columns) {
+            int name = columns.indexOf("name");
+            int cap = columns.indexOf("fuel_cap");
+            int litresPerHour = columns.indexOf("consumption");
+            int power = columns.indexOf("power_output");
+            return rs -> {
+                add(rs.getString(name), rs.getDouble(cap), rs.getDouble(litresPerHour),
+                        rs.getDouble(power));
+                return null;
+            };
+        }
+
+        GeneratorFleet build() {
+            return new GeneratorFleet(Arrays.copyOf(names, size), Arrays.copyOf(fuelCap, size),
+                    Arrays.copyOf(consumption, size), Arrays.copyOf(powerOutput, size));
+        }
+    }
+}
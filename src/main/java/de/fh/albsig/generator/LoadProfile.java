@@ -0,0 +1,122 @@
+package de.fh.albsig.generator;
+
+import java.util.Arrays;
+
+/**
+ * Electrical load of a show over time, sampled in equal steps.
+ *
+ * @param loadKw the load of each step in kW
+ * @param stepHours the duration of one step in hours
+ */
+public record LoadProfile(double[] loadKw, double stepHours) {
+
+    /**
+     * Validates and copies the samples.
+     */
+    public LoadProfile {
+        if (stepHours <= 0) {
+            throw new IllegalArgumentException("Step duration must be positive");
+        }
+        loadKw = loadKw.clone();
+        for (double load : loadKw) {
+            if (load < 0) {
+                throw new IllegalArgumentException("Load must not be negative");
+            }
+        }
+    }
+
+    /**
+     * Creates a profile with a constant load.
+     *
+     * @param loadKw the load in kW
+     * @param hours the duration in hours
+     * @return the profile
+     */
+    public static LoadProfile constant(double loadKw, double hours) {
+        return new LoadProfile(new double[]{loadKw}, hours);
+    }
+
+    /**
+     * Returns the number of steps.
+     *
+     * @return the step count
+     */
+    public int steps() {
+        return loadKw.length;
+    }
+
+    /**
+     * Returns the load of one step.
+     *
+     * @param step the step index
+     * @return the load in kW
+     */
+    public double loadAt(int step) {
+        return loadKw[step];
+    }
+
+    /**
+     * Returns the total duration of the profile.
+     *
+     * @return the duration in hours
+     */
+    public double durationHours() {
+        return loadKw.length * stepHours;
+    }
+
+    /**
+     * Returns the highest load of the profile.
+     *
+     * @return the peak load in kW
+     */
+    public double peakKw() {
+        double peak = 0;
+        for (double load : loadKw) {
+            peak = Math.max(peak, load);
+        }
+        return peak;
+    }
+
+    /**
+     * Returns the samples. The returned array is a copy.
+     *
+     * @return the load of each step in kW
+     */
+    @Override
+    public double[] loadKw() {
+        return loadKw.clone();
+    }
+
+    /**
+     * Compares the samples by content rather than by array identity.
+     *
+     * @param other the object to compare with
+     * @return true if the other object is a profile with the same samples and step
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof LoadProfile profile
+                && Double.compare(stepHours, profile.stepHours) == 0
+                && Arrays.equals(loadKw, profile.loadKw);
+    }
+
+    /**
+     * Returns a hash code consistent with {@link #equals(Object)}.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(loadKw) + Double.hashCode(stepHours);
+    }
+
+    /**
+     * Returns the samples and the step duration.
+     *
+     * @return a readable representation
+     */
+    @Override
+    public String toString() {
+        return "LoadProfile[loadKw=" + Arrays.toString(loadKw) + ", stepHours=" + stepHours + "]";
+    }
+}
@@ -0,0 +1,131 @@
+package de.fh.albsig.cablecrosssection;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CableCalculationCacheTest {
+
+    private final CableCrossSectionCalculatorLogic logic = new CableCrossSectionCalculatorLogic();
+
+    @Test
+    void testCalculate_MatchesLogic() {
+        // Arrange
+        CableCalculationCache cache = new CableCalculationCache(logic, 4);
+
+        // Act
+        CableCalculation calculation = cache.calculate(SystemType.AC_THREE_PHASE, 50, 20, 400,
+                ConductorMaterial.COPPER);
+
+        // Assert
+        CableCalculation expected = logic.calculate(SystemType.AC_THREE_PHASE, 50, 20, 400,
+                ConductorMaterial.COPPER);
+        assertEquals(expected, calculation);
+        assertEquals((20 * 1000) / (400 * 1.732), calculation.current(), 1e-9);
+        assertEquals(logic.computeThreePhaseCrossSection(50, calculation.current(), 400, 0.9,
+                ConductorMaterial.COPPER, 5.0), calculation.crossSection(), 1e-9);
+    }
+
+    @Test
+    void testCalculate_RepeatedInputsHit() {
+        // Arrange
+        CableCalculationCache cache = new CableCalculationCache(logic, 4);
+        CableCalculation first = cache.calculate(SystemType.AC_SINGLE_PHASE, 30, 16, 230,
+                ConductorMaterial.COPPER);
+
+        // Act
+        CableCalculation second = cache.calculate(SystemType.AC_SINGLE_PHASE, 30, 16, 230,
+                ConductorMaterial.COPPER);
+        CableCalculation aluminum = cache.calculate(SystemType.AC_SINGLE_PHASE, 30, 16, 230,
+                ConductorMaterial.ALUMINUM);
+
+        // Assert
+        assertSame(first, second);
+        assertNotEquals(first, aluminum);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1.0 / 3, cache.getHitRatio(), 1e-9);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testCalculate_EvictsLeastRecentlyUsed() {
+        // Arrange: fill the cache, then use the first entry again
+        CableCalculationCache cache = new CableCalculationCache(logic, 3);
+        CableCalculation first = cache.calculate(SystemType.AC_SINGLE_PHASE, 10, 16, 230,
+                ConductorMaterial.COPPER);
+        CableCalculation second = cache.calculate(SystemType.AC_SINGLE_PHASE, 20, 16, 230,
+                ConductorMaterial.COPPER);
+        cache.calculate(SystemType.AC_SINGLE_PHASE, 30, 16, 230, ConductorMaterial.COPPER);
+        cache.calculate(SystemType.AC_SINGLE_PHASE, 10, 16, 230, ConductorMaterial.COPPER);
+
+        // Act: a fourth feeder evicts the second, which is now the oldest
+        cache.calculate(SystemType.AC_SINGLE_PHASE, 40, 16, 230, ConductorMaterial.COPPER);
+
+        // Assert
+        assertEquals(3, cache.size());
+        assertSame(first, cache.calculate(SystemType.AC_SINGLE_PHASE, 10, 16, 230,
+                ConductorMaterial.COPPER));
+        assertNotSame(second, cache.calculate(SystemType.AC_SINGLE_PHASE, 20, 16, 230,
+                ConductorMaterial.COPPER));
+    }
+
+    @Test
+    void testCalculate_ManyEntries() {
+        // Arrange
+        CableCalculationCache cache = new CableCalculationCache(logic, 100);
+
+        // Act: cycle through more feeders than fit, twice
+        for (int round = 0; round < 2; round++) {
+            for (int length = 1; length <= 150; length++) {
+                cache.calculate(SystemType.AC_THREE_PHASE, length, 10, 400,
+                        ConductorMaterial.ALUMINUM);
+            }
+        }
+        for (int length = 101; length <= 150; length++) {
+            cache.calculate(SystemType.AC_THREE_PHASE, length, 10, 400,
+                    ConductorMaterial.ALUMINUM);
+        }
+
+        // Assert: only the last 50 of the cycle are still cached
+        assertEquals(100, cache.size());
+        assertEquals(50, cache.getHitCount());
+        assertEquals(300, cache.getMissCount());
+    }
+
+    @Test
+    void testKey_PacksWholeNumbersOnly() {
+        long key = CableCalculationCache.key(SystemType.AC_THREE_PHASE, 100, 20, 400,
+                ConductorMaterial.ALUMINUM, null);
+
+        assertNotEquals(CableCalculationCache.NO_KEY, key);
+        assertNotEquals(key, CableCalculationCache.key(SystemType.AC_SINGLE_PHASE, 100, 20, 400,
+                ConductorMaterial.ALUMINUM, null));
+        assertNotEquals(key, CableCalculationCache.key(SystemType.AC_THREE_PHASE, 20, 100, 400,
+                ConductorMaterial.ALUMINUM, null));
+        assertNotEquals(key, CableCalculationCache.key(SystemType.AC_THREE_PHASE, 100, 20, 400,
+                ConductorMaterial.ALUMINUM, InstallationMethod.WALL));
+        assertEquals(CableCalculationCache.NO_KEY, CableCalculationCache.key(
+                SystemType.AC_THREE_PHASE, 100.5, 20, 400, ConductorMaterial.COPPER, null));
+        assertEquals(CableCalculationCache.NO_KEY, CableCalculationCache.key(
+                SystemType.AC_THREE_PHASE, 100, 20, 1 << 20, ConductorMaterial.COPPER, null));
+    }
+
+    @Test
+    void testCalculate_InvalidInputsAreNotCached() {
+        // Arrange
+        CableCalculationCache cache = new CableCalculationCache(logic, 4);
+
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> cache.calculate(SystemType.DC, 10,
+                16, 24, ConductorMaterial.COPPER));
+        assertThrows(IllegalArgumentException.class, () -> cache.calculate(
+                SystemType.AC_THREE_PHASE, -10, 16, 400, ConductorMaterial.COPPER));
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new CableCalculationCache(logic, 0));
+    }
+}
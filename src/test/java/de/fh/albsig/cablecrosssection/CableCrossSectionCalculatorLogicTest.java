@@ -2,6 +2,7 @@ package de.fh.albsig.cablecrosssection;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -112,6 +113,131 @@ class CableCrossSectionCalculatorLogicTest {
         assertEquals("6.0 mm²", calculator.getRecommendedStandardWiring(5.0));
         assertEquals("10.0 mm²", calculator.getRecommendedStandardWiring(8.5));
         assertEquals("16.0 mm²", calculator.getRecommendedStandardWiring(12.0));
-        assertEquals("Greater than 16.0 mm² (consult a professional)", calculator.getRecommendedStandardWiring(20.0));
+        assertEquals("25.0 mm²", calculator.getRecommendedStandardWiring(20.0));
+        assertEquals("630.0 mm²", calculator.getRecommendedStandardWiring(600.0));
+        assertEquals("Greater than 630.0 mm² (consult a professional)", calculator.getRecommendedStandardWiring(700.0));
+    }
+
+    @Test
+    void testRecommendStandardSize() {
+        // Arrange
+        CableSize[] sizes = StandardCableSizes.all().toArray(new CableSize[0]);
+
+        // Act & Assert
+        assertEquals(22, sizes.length);
+        assertEquals(0.5, sizes[0].crossSection());
+        assertEquals("0.75 mm²", sizes[1].label());
+        assertEquals(1.5, new CableCrossSectionCalculatorLogic().recommendStandardSize(0.3).crossSection());
+        assertEquals(0.5, StandardCableSizes.smallestCovering(0.3).crossSection());
+        assertEquals(95.0, StandardCableSizes.smallestCovering(95.0).crossSection());
+        assertEquals(120.0, StandardCableSizes.smallestCovering(95.1).crossSection());
+        assertEquals(35.0, StandardCableSizes.smallestCovering(10.0, 120).crossSection());
+        assertEquals(null, StandardCableSizes.smallestCovering(10.0, 1000));
+        assertEquals(0.0183, sizes[7].resistance(10), 1e-9);
+    }
+
+    @Test
+    void testBatchCrossSections_MatchScalarResults() {
+        // Arrange
+        CableCrossSectionCalculatorLogic calculator = new CableCrossSectionCalculatorLogic();
+        double[] lengths = {50, 30, 0, 120};
+        double[] currents = {100, 50, 16, 32};
+        double[] voltages = {400, 400, 400, 230};
+        double[] threePhase = new double[4];
+        double[] singlePhase = new double[4];
+
+        // Act
+        calculator.computeThreePhaseCrossSections(lengths, currents, voltages, 0.9, 56, 5, threePhase);
+        calculator.computeSinglePhaseCrossSections(lengths, currents, 0.8, 56, 10, singlePhase);
+
+        // Assert
+        for (int i = 0; i < lengths.length; i++) {
+            assertEquals(calculator.computeThreePhaseCrossSection(lengths[i], currents[i], voltages[i], 0.9, 56, 5),
+                    threePhase[i], 1e-12);
+            assertEquals(calculator.computeSinglePhaseCrossSection(lengths[i], currents[i], 0.8, 56, 10),
+                    singlePhase[i], 1e-12);
+        }
+    }
+
+    @Test
+    void testBatchPowerLosses_MatchScalarResults() {
+        // Arrange
+        CableCrossSectionCalculatorLogic calculator = new CableCrossSectionCalculatorLogic();
+        double[] lengths = {100, 25};
+        double[] currents = {75, 16};
+        double[] crossSections = {10, 2.5};
+        double[] losses = new double[2];
+
+        // Act
+        calculator.computePowerLosses(lengths, currents, "Aluminum", crossSections, losses);
+
+        // Assert
+        assertEquals(calculator.computePowerLoss(100, 75, "Aluminum", 10), losses[0], 1e-9);
+        assertEquals(calculator.computePowerLoss(25, 16, "Aluminum", 2.5), losses[1], 1e-9);
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.computePowerLosses(lengths, currents, "Steel", crossSections, losses));
+    }
+
+    @Test
+    void testBatchCrossSections_ParallelSplit() {
+        // Arrange
+        CableCrossSectionCalculatorLogic calculator = new CableCrossSectionCalculatorLogic();
+        int count = CableCrossSectionCalculatorLogic.PARALLEL_THRESHOLD * 2 + 7;
+        double[] lengths = new double[count];
+        double[] currents = new double[count];
+        for (int i = 0; i < count; i++) {
+            lengths[i] = i % 200;
+            currents[i] = 1 + i % 63;
+        }
+        double[] sequential = new double[count];
+        double[] parallel = new double[count];
+
+        // Act
+        calculator.computeSinglePhaseCrossSections(lengths, currents, 0.9, 56, 5, sequential);
+        calculator.computeSinglePhaseCrossSections(lengths, currents, 0.9, 56, 5, parallel, true);
+
+        // Assert
+        assertArrayEquals(sequential, parallel);
+    }
+
+    @Test
+    void testBatchCrossSections_InvalidInputs() {
+        // Arrange
+        CableCrossSectionCalculatorLogic calculator = new CableCrossSectionCalculatorLogic();
+        double[] out = new double[2];
+
+        // Assert
+        assertThrows(IllegalArgumentException.class, () -> calculator.computeThreePhaseCrossSections(
+                new double[]{10, -1}, new double[]{1, 1}, new double[]{400, 400}, 0.9, 56, 5, out));
+        assertThrows(IllegalArgumentException.class, () -> calculator.computeSinglePhaseCrossSections(
+                new double[]{10, 20}, new double[]{1}, 0.9, 56, 5, out));
+        assertThrows(IllegalArgumentException.class, () -> calculator.computeSinglePhaseCrossSections(
+                new double[]{10, 20, 30}, new double[]{1, 2, 3}, 0.9, 56, 5, out));
+    }
+
+    @Test
+    void testTypedOverloads_MatchStringResults() {
+        // Arrange
+        CableCrossSectionCalculatorLogic calculator = new CableCrossSectionCalculatorLogic();
+
+        // Act & Assert
+        assertEquals(calculator.computePowerLoss(100, 75, "Copper", 10),
+                calculator.computePowerLoss(100, 75, ConductorMaterial.COPPER, 10), 1e-9);
+        assertEquals(calculator.computeThreePhaseCrossSection(50, 100, 400, 0.9, 37, 5),
+                calculator.computeThreePhaseCrossSection(50, 100, 400, 0.9, ConductorMaterial.ALUMINUM, 5));
+        assertEquals(calculator.computeSinglePhaseCrossSection(30, 50, 0.8, 56, 10),
+                calculator.computeSinglePhaseCrossSection(30, 50, 0.8, ConductorMaterial.COPPER, 10));
+    }
+
+    @Test
+    void testMaterialAndVoltageModel() {
+        // Act & Assert
+        assertEquals(ConductorMaterial.ALUMINUM, ConductorMaterial.fromLabel("Aluminum"));
+        assertThrows(IllegalArgumentException.class, () -> ConductorMaterial.fromLabel("Steel"));
+        assertEquals(0.017 * (1 + 0.00393 * 50), ConductorMaterial.COPPER.resistivityAt(70), 1e-12);
+        assertEquals(230, new CableCrossSectionCalculatorLogic().parseStandardVoltage("230V"));
+        assertEquals(SystemType.AC_THREE_PHASE, StandardVoltage.fromLabel("400V").getSystemType());
+        assertEquals(3, StandardVoltage.forSystem(SystemType.DC).size());
+        assertThrows(IllegalArgumentException.class, () -> StandardVoltage.fromLabel("231V"));
     }
 }
@@ -0,0 +1,184 @@
+package de.fh.albsig.cablecrosssection;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CableSweepTest {
+
+    private final CableSweep sweep = new CableSweep();
+    private final CableCrossSectionCalculatorLogic logic = new CableCrossSectionCalculatorLogic();
+
+    @Test
+    void testSweepRange() {
+        SweepRange range = new SweepRange(10, 50, 5);
+
+        assertEquals(10, range.valueAt(0), 1e-9);
+        assertEquals(30, range.valueAt(2), 1e-9);
+        assertEquals(50, range.valueAt(4), 1e-9);
+        assertEquals(7.5, SweepRange.single(7.5).valueAt(0), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> new SweepRange(1, 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SweepRange(1, 2, 1));
+    }
+
+    @Test
+    void testRun_MatchesSingleCalculations() {
+        // Arrange
+        List<ConductorMaterial> materials = List.of(ConductorMaterial.values());
+        List<StandardVoltage> voltages = List.of(StandardVoltage.V230, StandardVoltage.V400);
+
+        // Act
+        SweepResult result = sweep.run(materials, voltages, new SweepRange(10, 100, 10),
+                new SweepRange(10, 32, 3), new SweepRange(2, 10, 5), SweepRange.single(0.9));
+
+        // Assert: every row agrees with the calculator for its parameters
+        assertEquals(2 * 2 * 10 * 3 * 5, result.size());
+        assertEquals(30, result.scenarioCount());
+        for (int row = 0; row < result.size(); row++) {
+            double required = result.voltageOf(row).getSystemType() == SystemType.AC_THREE_PHASE
+                    ? logic.computeThreePhaseCrossSection(result.lengthOf(row),
+                            result.currentOf(row), 400, 0.9, result.materialOf(row),
+                            result.voltageDropOf(row))
+                    : logic.computeSinglePhaseCrossSection(result.lengthOf(row),
+                            result.currentOf(row), 0.9, result.materialOf(row),
+                            result.voltageDropOf(row));
+            assertEquals(required, result.requiredCrossSectionOf(row), required * 1e-6);
+            assertEquals(StandardCableSizes.smallestCovering(
+                    Math.max(required, StandardCableSizes.MIN_POWER_CIRCUIT_SIZE),
+                    result.currentOf(row), result.materialOf(row)), result.sizeOf(row));
+        }
+    }
+
+    @Test
+    void testRun_ParetoFrontIsNonDominated() {
+        // Act
+        SweepResult result = sweep.run(List.of(ConductorMaterial.values()),
+                List.of(StandardVoltage.values()), new SweepRange(20, 200, 4),
+                new SweepRange(5, 60, 4), new SweepRange(1, 20, 20), SweepRange.single(0.9));
+
+        // Assert
+        for (int scenario = 0; scenario < result.scenarioCount(); scenario++) {
+            int[] front = result.paretoFront(scenario);
+            assertTrue(front.length > 0);
+            for (int a : front) {
+                assertEquals(scenario, result.scenarioOf(a));
+                for (int b : front) {
+                    assertFalse(a != b && dominates(result, a, b),
+                            "Row " + a + " dominates row " + b + " of the front.");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRun_ParetoFrontTradesCostForLoss() {
+        // Act: one scenario, copper only, drops from 1 to 10 V
+        SweepResult result = sweep.run(List.of(ConductorMaterial.COPPER),
+                List.of(StandardVoltage.V230), SweepRange.single(100), SweepRange.single(16),
+                new SweepRange(1, 10, 10), SweepRange.single(0.9));
+
+        // Assert: a larger allowed drop gives a smaller, cheaper but lossier cable
+        int[] front = result.paretoFront(0);
+        assertTrue(front.length > 1);
+        for (int i = 1; i < front.length; i++) {
+            assertTrue(result.costOf(front[i]) < result.costOf(front[i - 1]));
+            assertTrue(result.powerLossOf(front[i]) > result.powerLossOf(front[i - 1]));
+        }
+    }
+
+    @Test
+    void testRun_AluminumUsesReducedAmpacity() {
+        // Act: a short 100 A run, so the ampacity rather than the voltage drop decides
+        SweepResult result = sweep.run(List.of(ConductorMaterial.COPPER, ConductorMaterial.ALUMINUM),
+                List.of(StandardVoltage.V230), SweepRange.single(1), SweepRange.single(100),
+                SweepRange.single(5), SweepRange.single(0.9));
+
+        // Assert: 25 mm² carries 112 A in copper but only 87 A in aluminum
+        assertEquals(ConductorMaterial.COPPER, result.materialOf(0));
+        assertEquals(25.0, result.sizeOf(0).crossSection());
+        assertEquals(ConductorMaterial.ALUMINUM, result.materialOf(1));
+        assertEquals(35.0, result.sizeOf(1).crossSection());
+    }
+
+    @Test
+    void testRun_AluminumReachesParetoFront() {
+        // Act: one scenario sized in both materials
+        SweepResult result = sweep.run(List.of(ConductorMaterial.COPPER, ConductorMaterial.ALUMINUM),
+                List.of(StandardVoltage.V230), SweepRange.single(50), SweepRange.single(32),
+                SweepRange.single(5), SweepRange.single(0.9));
+
+        // Assert: aluminum loses more power but costs less, so neither option dominates the other
+        assertTrue(result.costOf(1) < result.costOf(0));
+        assertEquals(2, result.paretoFront(0).length);
+    }
+
+    @Test
+    void testRun_ThreePhaseLossMatchesBalancedFeeder() {
+        // Act
+        SweepResult result = sweep.run(List.of(ConductorMaterial.COPPER),
+                List.of(StandardVoltage.V400), SweepRange.single(50), SweepRange.single(20),
+                SweepRange.single(10), SweepRange.single(0.9));
+
+        // Assert: three loaded phases and an unloaded neutral, as for a balanced phase assignment
+        PhaseAssignment balanced = new PhaseAssignment(new int[0], new double[]{20, 20, 20});
+        double crossSection = result.sizeOf(0).crossSection();
+        assertEquals(balanced.computePowerLoss(logic, 50, ConductorMaterial.COPPER, crossSection),
+                result.powerLossOf(0), 1e-3);
+    }
+
+    @Test
+    void testRun_UnsizedCombinations() {
+        // Act: 1000 A over 500 m exceeds every standard size
+        SweepResult result = sweep.run(List.of(ConductorMaterial.ALUMINUM),
+                List.of(StandardVoltage.V230), SweepRange.single(500), SweepRange.single(1000),
+                SweepRange.single(1), SweepRange.single(1));
+
+        // Assert
+        assertNull(result.sizeOf(0));
+        assertTrue(Double.isNaN(result.costOf(0)));
+        assertEquals(0, result.paretoFront(0).length);
+    }
+
+    @Test
+    void testInvalidInputs() {
+        SweepRange one = SweepRange.single(1);
+        List<ConductorMaterial> copper = List.of(ConductorMaterial.COPPER);
+        List<StandardVoltage> v230 = List.of(StandardVoltage.V230);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> sweep.run(List.of(), v230, one, one, one, one));
+        assertThrows(IllegalArgumentException.class,
+                () -> sweep.run(copper, v230, new SweepRange(0, 10, 2), one, one, one));
+        assertThrows(IllegalArgumentException.class,
+                () -> sweep.run(copper, v230, one, one, one, new SweepRange(0.8, 1.2, 3)));
+        assertThrows(IllegalArgumentException.class,
+                () -> sweep.run(copper, v230, new SweepRange(1, 2, 50_000), one,
+                        new SweepRange(1, 2, 50_000), one));
+    }
+
+    @Test
+    void testRowLimit() {
+        // 6000 * 6000 rows fit an int but would take about 470 MB
+        SweepRange wide = new SweepRange(1, 2, 6000);
+        List<ConductorMaterial> copper = List.of(ConductorMaterial.COPPER);
+        List<StandardVoltage> v230 = List.of(StandardVoltage.V230);
+        assertTrue(6000L * 6000 > CableSweep.MAX_ROWS);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> sweep.run(copper, v230, wide, wide, SweepRange.single(1), SweepRange.single(1)));
+    }
+
+    private static boolean dominates(SweepResult result, int a, int b) {
+        double sizeA = result.sizeOf(a).crossSection();
+        double sizeB = result.sizeOf(b).crossSection();
+        return sizeA <= sizeB && result.powerLossOf(a) <= result.powerLossOf(b)
+                && result.costOf(a) <= result.costOf(b)
+                && (sizeA < sizeB || result.powerLossOf(a) < result.powerLossOf(b)
+                        || result.costOf(a) < result.costOf(b));
+    }
+}
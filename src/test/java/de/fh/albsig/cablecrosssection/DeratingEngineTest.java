@@ -0,0 +1,110 @@
+package de.fh.albsig.cablecrosssection;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeratingEngineTest {
+
+    private final CableCrossSectionCalculatorLogic logic = new CableCrossSectionCalculatorLogic();
+    private final DeratingEngine engine = new DeratingEngine(logic);
+
+    @Test
+    void testTemperatureFactor_Interpolated() {
+        assertEquals(1.00, DeratingTables.temperatureFactor(InstallationMethod.WALL, 30), 1e-9);
+        assertEquals(0.87, DeratingTables.temperatureFactor(InstallationMethod.CONDUIT, 40), 1e-9);
+        assertEquals(0.976, DeratingTables.temperatureFactor(InstallationMethod.WALL, 32), 1e-9);
+        assertEquals(0.97, DeratingTables.temperatureFactor(InstallationMethod.WALL, 32.5), 1e-9);
+        assertEquals(1.00,
+                DeratingTables.temperatureFactor(InstallationMethod.UNDERGROUND, 20), 1e-9);
+        assertEquals(0.45,
+                DeratingTables.temperatureFactor(InstallationMethod.UNDERGROUND, 60), 1e-9);
+        assertThrows(IllegalArgumentException.class,
+                () -> DeratingTables.temperatureFactor(InstallationMethod.WALL, 61));
+    }
+
+    @Test
+    void testGroupingFactor_Interpolated() {
+        assertEquals(1.00, DeratingTables.groupingFactor(InstallationMethod.WALL, 1), 1e-9);
+        assertEquals(0.70, DeratingTables.groupingFactor(InstallationMethod.CONDUIT, 3), 1e-9);
+        assertEquals(0.50 - 0.05 / 3,
+                DeratingTables.groupingFactor(InstallationMethod.CONDUIT, 10), 1e-9);
+        assertEquals(0.38, DeratingTables.groupingFactor(InstallationMethod.CONDUIT, 40), 1e-9);
+        assertEquals(0.70, DeratingTables.groupingFactor(InstallationMethod.WALL, 12), 1e-9);
+        assertThrows(IllegalArgumentException.class,
+                () -> DeratingTables.groupingFactor(InstallationMethod.WALL, 0));
+    }
+
+    @Test
+    void testSize_AmpacityLimited() {
+        // Act: 1.93 mm² suffice for the drop, but 2.5 mm² only carry 27 A
+        DeratedSizing wall = engine.size(SystemType.AC_SINGLE_PHASE, 10, 30, 230, 0.9,
+                ConductorMaterial.COPPER, 5, InstallationMethod.WALL, 30, 1);
+        DeratedSizing grouped = engine.size(SystemType.AC_SINGLE_PHASE, 10, 30, 230, 0.9,
+                ConductorMaterial.COPPER, 5, InstallationMethod.CONDUIT, 30, 3);
+
+        // Assert
+        assertEquals(4.0, wall.size().crossSection(), 1e-9);
+        assertEquals(36, wall.deratedAmpacity(), 1e-9);
+        assertEquals(30 + 40 * (30.0 / 36) * (30.0 / 36), wall.conductorTemperature(), 1e-9);
+        assertTrue(wall.voltageDrop() <= 5);
+        // 0.85 * 0.70 leaves 10 mm² as the first size carrying 30 A
+        assertEquals(0.85 * 0.70, grouped.deratingFactor(), 1e-9);
+        assertEquals(10.0, grouped.size().crossSection(), 1e-9);
+    }
+
+    @Test
+    void testSize_VoltageDropLimitedByConductorTemperature() {
+        // Arrange: 97 m need 9.98 mm² at 20 °C
+        double required = logic.computeSinglePhaseCrossSection(97, 16, 0.9,
+                ConductorMaterial.COPPER, 5);
+
+        // Act
+        DeratedSizing sizing = engine.size(SystemType.AC_SINGLE_PHASE, 97, 16, 230, 0.9,
+                ConductorMaterial.COPPER, 5, InstallationMethod.WALL, 30, 1);
+
+        // Assert: 10 mm² would exceed 5 V when warm, so 16 mm² are chosen
+        assertEquals(10.0, logic.recommendStandardSize(required).crossSection(), 1e-9);
+        assertEquals(required, sizing.requiredCrossSection(), 1e-9);
+        assertEquals(16.0, sizing.size().crossSection(), 1e-9);
+        assertTrue(sizing.voltageDrop() <= 5);
+    }
+
+    @Test
+    void testSize_Unsized() {
+        DeratedSizing sizing = engine.size(SystemType.AC_THREE_PHASE, 50, 1000, 400, 0.9,
+                ConductorMaterial.ALUMINUM, 10, InstallationMethod.UNDERGROUND, 20, 1);
+
+        assertFalse(sizing.isSized());
+        assertTrue(Double.isNaN(sizing.voltageDrop()));
+    }
+
+    @Test
+    void testCalculate_WithInstallationMethod() {
+        // Act
+        CableCalculation plain = logic.calculate(SystemType.AC_SINGLE_PHASE, 10, 30, 230,
+                ConductorMaterial.COPPER);
+        CableCalculation onWall = logic.calculate(SystemType.AC_SINGLE_PHASE, 10, 30, 230,
+                ConductorMaterial.COPPER, InstallationMethod.WALL);
+
+        // Assert
+        assertEquals("2.5 mm²", plain.standardWiring());
+        assertEquals("4.0 mm²", onWall.standardWiring());
+        assertEquals(plain.crossSection(), onWall.crossSection(), 1e-9);
+    }
+
+    @Test
+    void testInvalidInputs() {
+        assertThrows(IllegalArgumentException.class, () -> engine.size(
+                SystemType.AC_SINGLE_PHASE, 10, 30, 230, 0.9, ConductorMaterial.COPPER, 5,
+                InstallationMethod.WALL, 65, 1));
+        assertThrows(IllegalArgumentException.class, () -> engine.size(
+                SystemType.AC_SINGLE_PHASE, 10, 30, 230, 0.9, ConductorMaterial.COPPER, 5,
+                InstallationMethod.WALL, 30, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> InstallationMethod.fromLabel("Ceiling"));
+    }
+}
@@ -0,0 +1,126 @@
+package de.fh.albsig.cablecrosssection;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PhaseBalancerTest {
+
+    private final PhaseBalancer balancer = new PhaseBalancer();
+    private final CableCrossSectionCalculatorLogic logic = new CableCrossSectionCalculatorLogic();
+
+    @Test
+    void testBalance_PerfectSplit() {
+        // Arrange
+        double[] loads = {8, 7, 6, 5, 4, 3, 3, 2, 2};
+
+        // Act
+        PhaseAssignment assignment = balancer.balance(loads);
+
+        // Assert: 40 A split into 14 / 13 / 13 at best
+        assertEquals(14, assignment.getMaxPhaseCurrent(), 1e-9);
+        assertEquals(1, assignment.getNeutralCurrent(), 1e-9);
+        double total = 0;
+        for (int phase = 0; phase < 3; phase++) {
+            total += assignment.phaseCurrent(phase);
+        }
+        assertEquals(40, total, 1e-9);
+    }
+
+    @Test
+    void testBalance_LocalSearchImprovesHeuristic() {
+        // Arrange: the heuristic yields 5+3+3 / 5+3 / 4+4 = 11 / 8 / 8
+        double[] loads = {5, 5, 4, 4, 3, 3, 3};
+
+        // Act
+        PhaseAssignment heuristic = balancer.balance(loads, false);
+        PhaseAssignment improved = balancer.balance(loads, true);
+
+        // Assert: 27 A can be split into 9 / 9 / 9
+        assertEquals(11, heuristic.getMaxPhaseCurrent(), 1e-9);
+        assertEquals(9, improved.getMaxPhaseCurrent(), 1e-9);
+        assertTrue(improved.getNeutralCurrent() < heuristic.getNeutralCurrent());
+    }
+
+    @Test
+    void testBalance_LargeLoadListInParallel() {
+        // Arrange
+        Random random = new Random(3);
+        double[] loads = new double[PhaseBalancer.PARALLEL_THRESHOLD * 2];
+        double total = 0;
+        for (int i = 0; i < loads.length; i++) {
+            loads[i] = 0.5 + random.nextInt(320) / 20.0;
+            total += loads[i];
+        }
+
+        // Act
+        PhaseAssignment assignment = balancer.balance(loads);
+
+        // Assert
+        assertTrue(assignment.getMaxPhaseCurrent() - total / 3 < 0.05);
+        double[] sums = new double[3];
+        for (int i = 0; i < loads.length; i++) {
+            sums[assignment.phaseOf(i)] += loads[i];
+        }
+        for (int phase = 0; phase < 3; phase++) {
+            assertEquals(sums[phase], assignment.phaseCurrent(phase), 1e-6);
+        }
+    }
+
+    @Test
+    void testBalance_ParallelSearchIsDeterministic() {
+        // Arrange: few distinct values, so many moves tie
+        Random random = new Random(5);
+        double[] loads = new double[PhaseBalancer.PARALLEL_THRESHOLD * 2];
+        for (int i = 0; i < loads.length; i++) {
+            loads[i] = 1 + random.nextInt(8);
+        }
+        loads[0] = 97;
+
+        // Act
+        PhaseAssignment first = balancer.balance(loads);
+        PhaseAssignment second = balancer.balance(loads);
+
+        // Assert
+        for (int i = 0; i < loads.length; i++) {
+            assertEquals(first.phaseOf(i), second.phaseOf(i), "Load " + i);
+        }
+    }
+
+    @Test
+    void testNeutralCurrent() {
+        assertEquals(0, PhaseBalancer.neutralCurrent(16, 16, 16), 1e-9);
+        assertEquals(16, PhaseBalancer.neutralCurrent(16, 0, 0), 1e-9);
+        assertEquals(10, PhaseBalancer.neutralCurrent(10, 10, 0), 1e-9);
+    }
+
+    @Test
+    void testResultFeedsCableCalculation() {
+        // Arrange
+        PhaseAssignment assignment = balancer.balance(new double[]{16, 16, 10, 10});
+
+        // Act
+        double crossSection = assignment.computeCrossSection(logic, 50, 400, 0.9,
+                ConductorMaterial.COPPER, 10);
+        double loss = assignment.computePowerLoss(logic, 50, ConductorMaterial.COPPER, 4);
+
+        // Assert: phases 16 / 16 / 20, neutral 4 A
+        assertEquals(logic.computeThreePhaseCrossSection(50, 20, 400, 0.9, ConductorMaterial.COPPER,
+                10), crossSection, 1e-9);
+        double expected = 0;
+        for (double current : new double[]{16, 16, 20, 4}) {
+            expected += logic.computePowerLoss(50, current, ConductorMaterial.COPPER, 4) / 2;
+        }
+        assertEquals(expected, loss, 1e-9);
+    }
+
+    @Test
+    void testInvalidLoad() {
+        assertThrows(IllegalArgumentException.class, () -> balancer.balance(new double[]{5, -1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> balancer.balance(new double[]{Double.NaN}));
+    }
+}
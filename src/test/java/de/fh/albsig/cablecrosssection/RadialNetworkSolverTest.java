@@ -0,0 +1,85 @@
+package de.fh.albsig.cablecrosssection;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RadialNetworkSolverTest {
+
+    private final RadialNetworkSolver solver = new RadialNetworkSolver();
+
+    @Test
+    void testSolve_SmallDistribution() {
+        // Arrange: generator -> main distro (100 m) -> two end loads (50 m each)
+        RadialNetwork network = new RadialNetwork();
+        int distro = network.addNode(RadialNetwork.SOURCE, 100, 0);
+        int stage = network.addNode(distro, 50, 16);
+        int foh = network.addNode(distro, 50, 12);
+
+        // Act
+        NetworkSolution solution = solver.solve(network, SystemType.AC_SINGLE_PHASE, 230, 0.9,
+                ConductorMaterial.COPPER, 5);
+
+        // Assert
+        assertEquals(28, solution.currentOf(distro), 1e-9);
+        assertEquals(16, solution.currentOf(stage), 1e-9);
+        // The main cable gets 100 of 150 m of the budget
+        assertEquals((2 * 100 * 28 * 0.9) / (56 * 5 * 100.0 / 150), solution.requiredCrossSectionOf(distro), 1e-9);
+        assertNotNull(solution.sizeOf(distro));
+        assertEquals(solution.segmentDropOf(distro) + solution.segmentDropOf(stage),
+                solution.cumulativeDropOf(stage), 1e-9);
+        assertTrue(solution.getMaxDrop() <= 5, "No path may exceed the drop budget.");
+        assertEquals(stage, solution.getWorstNode());
+        assertEquals(0, solution.getUnsizedSegments());
+        assertTrue(solution.cumulativeDropOf(foh) < solution.cumulativeDropOf(stage));
+    }
+
+    @Test
+    void testSolve_LargeTreeStaysWithinBudget() {
+        // Arrange: 20 000 nodes, each board feeding the next ones in a wide tree
+        RadialNetwork network = new RadialNetwork();
+        for (int i = 1; i < 20_000; i++) {
+            network.addNode((i - 1) / 4, 5 + i % 30, i % 3 == 0 ? 0.1 : 0);
+        }
+
+        // Act
+        NetworkSolution solution = solver.solve(network, SystemType.AC_THREE_PHASE, 400, 0.9,
+                ConductorMaterial.COPPER, 20);
+
+        // Assert
+        assertTrue(solution.getMaxDrop() <= 20 + 1e-9, "No path may exceed the drop budget.");
+        assertEquals(666.6, solution.currentOf(RadialNetwork.SOURCE), 1e-6);
+        assertEquals(0, solution.getUnsizedSegments());
+    }
+
+    @Test
+    void testSolve_AluminumUsesReducedAmpacity() {
+        // Arrange: a short 100 A feeder, so the ampacity rather than the voltage drop decides
+        RadialNetwork network = new RadialNetwork();
+        int feeder = network.addNode(RadialNetwork.SOURCE, 1, 100);
+
+        // Act
+        NetworkSolution copper = solver.solve(network, SystemType.AC_SINGLE_PHASE, 230, 0.9,
+                ConductorMaterial.COPPER, 5);
+        NetworkSolution aluminum = solver.solve(network, SystemType.AC_SINGLE_PHASE, 230, 0.9,
+                ConductorMaterial.ALUMINUM, 5);
+
+        // Assert: 25 mm² carries 112 A in copper but only 87 A in aluminum
+        assertEquals(25.0, copper.sizeOf(feeder).crossSection());
+        assertEquals(35.0, aluminum.sizeOf(feeder).crossSection());
+        assertTrue(aluminum.sizeOf(feeder).ampacity() * StandardCableSizes.ALUMINUM_AMPACITY_RATIO >= 100);
+    }
+
+    @Test
+    void testInvalidInputs() {
+        RadialNetwork network = new RadialNetwork();
+
+        assertThrows(IllegalArgumentException.class, () -> network.addNode(5, 10, 1));
+        assertThrows(IllegalArgumentException.class, () -> network.addNode(0, -10, 1));
+        assertThrows(IllegalArgumentException.class, () -> solver.solve(network, SystemType.DC, 24, 1,
+                ConductorMaterial.COPPER, 0));
+    }
+}
@@ -0,0 +1,93 @@
+package de.fh.albsig.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.File;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncDatabaseTest {
+    @BeforeEach
+    void setUp() {
+        TestDatabase.openFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestDatabase.reset();
+    }
+
+    @Test
+    void writesAreAppliedInOrder() {
+        // Test that queued writes run in submission order before a later read
+        assertDoesNotThrow(() -> {
+            AsyncDatabase.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen A", 100.0, 5.0, 50.0);
+            AsyncDatabase.update("Aggregate", "fuel_cap = ?", "name = ?", 150.0, "Gen A");
+            CompletableFuture<Void> lastWrite =
+                    AsyncDatabase.update("Aggregate", "fuel_cap = ?", "name = ?", 175.0, "Gen A");
+            lastWrite.get(5, TimeUnit.SECONDS);
+
+            List<Aggregate> aggregates = AsyncDatabase.selectAggregates("name = ?", "Gen A").get(5, TimeUnit.SECONDS);
+            assertEquals(1, aggregates.size());
+            assertEquals(175.0, aggregates.get(0).fuelCap());
+        });
+    }
+
+    @Test
+    void writesRunOffTheCallingThread() {
+        // Test that the work is done on the dedicated writer thread
+        assertDoesNotThrow(() -> {
+            String threadName = AsyncDatabase.write(() -> Thread.currentThread().getName())
+                    .get(5, TimeUnit.SECONDS);
+            assertTrue(threadName.startsWith("db-writer"));
+        });
+    }
+
+    @Test
+    void failedWriteCompletesExceptionally() {
+        // Test that a failing insert is reported through the future instead of being swallowed
+        CompletableFuture<Void> insert =
+                AsyncDatabase.insert("Aggregate", "name, fuel_cap, consumption, power_output", null, 100.0, 5.0, 50.0);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> insert.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof SQLException);
+    }
+
+    @Test
+    void failedBatchCompletesExceptionally() {
+        // Test that a rolled back batch fails the future rather than completing with 0
+        List<Object[]> rows = List.of(
+                new Object[]{"Gen A", 100.0, 5.0, 50.0},
+                new Object[]{null, 100.0, 5.0, 50.0});
+        CompletableFuture<Integer> batch =
+                AsyncDatabase.insertBatch("Aggregate", "name, fuel_cap, consumption, power_output", rows);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> batch.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof SQLException);
+        assertDoesNotThrow(() -> assertTrue(AsyncDatabase.selectAggregates(null).get(5, TimeUnit.SECONDS).isEmpty()));
+    }
+
+    @Test
+    void failedReadCompletesExceptionally() {
+        // Test that a query SQLite rejects fails the future
+        CompletableFuture<Object[][]> select = AsyncDatabase.select("Aggregate", "name", "name = = ?", "Gen A");
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> select.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof SQLException);
+    }
+
+    @Test
+    void startingReadersDoesNotOpenTheDatabase() {
+        // Test that sizing the reader threads uses the pool configuration only
+        TestDatabase.reset();
+
+        assertDoesNotThrow(() -> assertEquals("done", AsyncDatabase.read(() -> "done").get(5, TimeUnit.SECONDS)));
+        assertFalse(new File(TestDatabase.DATABASE_FILE).exists());
+    }
+}
@@ -0,0 +1,54 @@
+package de.fh.albsig.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataAccessLogTest {
+    private DataAccessLog.Mode previousMode;
+    private int previousSampleEvery;
+
+    @BeforeEach
+    void setUp() {
+        previousMode = DataAccessLog.currentMode();
+        previousSampleEvery = DataAccessLog.currentSampleEvery();
+        TestDatabase.openFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataAccessLog.configure(previousMode, previousSampleEvery);
+        TestDatabase.reset();
+    }
+
+    @Test
+    void dataAccessLogCountsOperations() {
+        // Test that operations are counted and timed without per-call logging
+        DataAccessLog.configure(DataAccessLog.Mode.COUNTERS, 1);
+        DataAccessLog.reset();
+        SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen A", 100.0, 5.0, 50.0);
+        SqliteHelperMain.select("Aggregate", "name", null);
+
+        assertEquals(1, DataAccessLog.getCount(DataAccessLog.Operation.INSERT));
+        assertEquals(1, DataAccessLog.getRows(DataAccessLog.Operation.SELECT));
+        assertTrue(DataAccessLog.getMeanMicros(DataAccessLog.Operation.INSERT) > 0);
+    }
+
+    @Test
+    void streamIsCountedWhenClosed() {
+        // Test that a stream is recorded with the rows it returned
+        DataAccessLog.configure(DataAccessLog.Mode.COUNTERS, 1);
+        SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen A", 100.0, 5.0, 50.0);
+        SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen B", 40.0, 5.0, 50.0);
+        DataAccessLog.reset();
+        try (Stream<Row> rows = SqliteHelperMain.stream("Aggregate", "name", null)) {
+            assertEquals(2, rows.count());
+        }
+
+        assertEquals(1, DataAccessLog.getCount(DataAccessLog.Operation.STREAM));
+        assertEquals(2, DataAccessLog.getRows(DataAccessLog.Operation.STREAM));
+    }
+}
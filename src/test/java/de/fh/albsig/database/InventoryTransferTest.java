@@ -0,0 +1,174 @@
+package de.fh.albsig.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryTransferTest {
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        // Use the in-memory backend so the test leaves no database file behind
+        TestDatabase.openInMemory();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestDatabase.reset();
+    }
+
+    @Test
+    void importCsv() throws IOException {
+        // Test that valid rows are imported and invalid ones are skipped
+        Path csv = tempDir.resolve("inventory.csv");
+        Files.writeString(csv, String.join("\n",
+                "name,fuel_cap,consumption,power_output",
+                "Gen A,100.5,5.0,50.0",
+                "\"Gen, B\",200.0,10.0,75.0",
+                "Gen C,not a number,10.0,75.0",
+                ",50.0,2.0,10.0"), StandardCharsets.UTF_8);
+
+        InventoryTransfer.ImportResult result = InventoryTransfer.importCsv(csv, "Aggregate");
+
+        assertEquals(2, result.imported(), "Two rows should be imported.");
+        assertEquals(2, result.rejected(), "Two rows should be rejected.");
+        assertEquals(1, SqliteHelperMain.selectAggregates("name = ?", "Gen, B").size(),
+                "Quoted fields should keep their commas.");
+    }
+
+    @Test
+    void importCsvRejectsUnknownColumns() throws IOException {
+        // Test that a header naming a column that is not in the table is refused
+        Path csv = tempDir.resolve("inventory.csv");
+        Files.writeString(csv, "name,fuel_cap,consumption,power_output,colour\n", StandardCharsets.UTF_8);
+
+        assertThrows(IllegalArgumentException.class, () -> InventoryTransfer.importCsv(csv, "Aggregate"));
+        assertThrows(IllegalArgumentException.class, () -> InventoryTransfer.importCsv(csv, "Missing"));
+    }
+
+    @Test
+    void importJson() throws IOException {
+        // Test that an array of flat objects is imported
+        Path json = tempDir.resolve("inventory.json");
+        Files.writeString(json, "[{\"name\": \"Gen \\\"A\\\"\", \"fuel_cap\": 100.5, "
+                + "\"consumption\": 5, \"power_output\": 50.0},\n"
+                + " {\"name\": \"Gen B\", \"fuel_cap\": 200, \"consumption\": 10, \"power_output\": 75}]",
+                StandardCharsets.UTF_8);
+
+        InventoryTransfer.ImportResult result = InventoryTransfer.importJson(json, "Aggregate");
+
+        assertEquals(2, result.imported(), "Both objects should be imported.");
+        List<Aggregate> aggregates = SqliteHelperMain.selectAggregates("name = ?", "Gen \"A\"");
+        assertEquals(1, aggregates.size(), "Escaped quotes should be decoded.");
+        assertEquals(100.5, aggregates.get(0).fuelCap(), 0.001);
+    }
+
+    @Test
+    void exportAndReimport() throws IOException {
+        // Test that an exported file can be imported again with the same content
+        SqliteHelperMain.insert("Aggregate", Aggregate.COLUMNS, "Gen, A", 100.0, 5.0, 50.0);
+        SqliteHelperMain.insert("Aggregate", Aggregate.COLUMNS, "Gen B", 200.0, 10.0, 75.0);
+        Path csv = tempDir.resolve("export.csv");
+        Path json = tempDir.resolve("export.json");
+
+        assertEquals(2, InventoryTransfer.exportCsv(csv, "Aggregate", Aggregate.COLUMNS));
+        assertEquals(2, InventoryTransfer.exportJson(json, "Aggregate", Aggregate.COLUMNS));
+        SqliteHelperMain.delete("Aggregate", "1 = 1");
+
+        assertEquals(2, InventoryTransfer.importCsv(csv, "Aggregate").imported());
+        assertEquals(2, InventoryTransfer.importJson(json, "Aggregate").imported());
+        assertEquals(2, SqliteHelperMain.selectAggregates("name = ?", "Gen, A").size(),
+                "Both formats should round-trip the name.");
+    }
+
+    @Test
+    void importSkipsOnlyRowsRejectedBySqlite() throws IOException {
+        // Test that a duplicate key rolls back its transaction but the other rows are still imported
+        Path csv = tempDir.resolve("inventory.csv");
+        Files.writeString(csv, String.join("\n",
+                "id,name,fuel_cap,consumption,power_output",
+                "1,Gen A,100.0,5.0,50.0",
+                "2,Gen B,200.0,10.0,75.0",
+                "1,Gen C,300.0,15.0,90.0"), StandardCharsets.UTF_8);
+
+        InventoryTransfer.ImportResult result = InventoryTransfer.importCsv(csv, "Aggregate");
+
+        assertEquals(2, result.imported(), "Rows without a conflict should be imported.");
+        assertEquals(1, result.rejected(), "Only the duplicate should be rejected.");
+        assertTrue(SqliteHelperMain.selectAggregates("name = ?", "Gen C").isEmpty());
+    }
+
+    @Test
+    void importJsonRejectsObjectsWithOtherKeys() throws IOException {
+        // Test that an object with the same number of keys but different names is rejected
+        Path json = tempDir.resolve("inventory.json");
+        Files.writeString(json, "[{\"id\": 1, \"name\": \"Gen A\", \"fuel_cap\": 100, \"consumption\": 5, \"power_output\": 50},\n"
+                + " {\"name\": \"Gen B\", \"fuel_cap\": 200, \"consumption\": 10, \"power_output\": 75, \"colour\": \"red\"}]",
+                StandardCharsets.UTF_8);
+
+        InventoryTransfer.ImportResult result = InventoryTransfer.importJson(json, "Aggregate");
+
+        assertEquals(1, result.imported());
+        assertEquals(1, result.rejected());
+    }
+
+    @Test
+    void importJsonRejectsMalformedUnicodeEscape() throws IOException {
+        // Test that an invalid \\u escape rejects its record instead of aborting the import
+        Path json = tempDir.resolve("inventory.json");
+        Files.writeString(json, "[{\"name\": \"Gen \\uZZZZ\", \"fuel_cap\": 100, \"consumption\": 5, \"power_output\": 50},\n"
+                + " {\"name\": \"Gen \\u00c4\", \"fuel_cap\": 200, \"consumption\": 10, \"power_output\": 75}]",
+                StandardCharsets.UTF_8);
+
+        InventoryTransfer.ImportResult result = InventoryTransfer.importJson(json, "Aggregate");
+
+        assertEquals(1, result.imported());
+        assertEquals(1, result.rejected());
+        assertEquals(1, SqliteHelperMain.selectAggregates("name = ?", "Gen \u00c4").size());
+    }
+
+    @Test
+    void exportJsonWritesNonFiniteNumbersAsNull() throws IOException {
+        // Test that infinity is exported as null, which is valid JSON
+        SqliteHelperMain.insert("Aggregate", Aggregate.COLUMNS, "Gen A", Double.POSITIVE_INFINITY, 5.0, 50.0);
+        Path json = tempDir.resolve("export.json");
+
+        assertEquals(1, InventoryTransfer.exportJson(json, "Aggregate", Aggregate.COLUMNS));
+
+        String content = Files.readString(json, StandardCharsets.UTF_8);
+        assertTrue(content.contains("\"fuel_cap\": null"), content);
+        assertFalse(content.contains("Infinity"), content);
+    }
+
+    @Test
+    void importRejectsTablesOutsideTheWhitelist() throws Exception {
+        // Test that an existing table the SQL templates do not know is refused before any row is read
+        try (PooledConnection pooled = SqliteHelperMain.pool().borrow()) {
+            pooled.getConnection().createStatement().execute("CREATE TABLE Notes (text TEXT)");
+        }
+        Path csv = tempDir.resolve("notes.csv");
+        Files.writeString(csv, "text\nhello\n", StandardCharsets.UTF_8);
+
+        assertThrows(IllegalArgumentException.class, () -> InventoryTransfer.importCsv(csv, "Notes"));
+    }
+
+    @Test
+    void exportFailsWhenTheTableCannotBeRead() {
+        // Test that a failing query is reported instead of producing a header-only file
+        Path csv = tempDir.resolve("export.csv");
+        Path json = tempDir.resolve("export.json");
+
+        assertThrows(IOException.class, () -> InventoryTransfer.exportCsv(csv, "Aggregate", "name, colour"));
+        assertThrows(IOException.class, () -> InventoryTransfer.exportJson(json, "Missing", "name"));
+    }
+}
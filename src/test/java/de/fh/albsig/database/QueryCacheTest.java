@@ -0,0 +1,40 @@
+package de.fh.albsig.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCacheTest {
+    @BeforeEach
+    void setUp() {
+        TestDatabase.openFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqliteHelperMain.disableQueryCache();
+        TestDatabase.reset();
+    }
+
+    @Test
+    void queryCacheIsInvalidatedOnWrite() {
+        // Test that repeated selects hit the cache and writes to the table invalidate it
+        SqliteHelperMain.enableQueryCache(16, 60_000);
+        try {
+            SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen A", 100.0, 5.0, 50.0);
+            SqliteHelperMain.select("Aggregate", "name", "fuel_cap > ?", 50.0);
+            SqliteHelperMain.select("Aggregate", "name", "fuel_cap > ?", 50.0);
+            QueryCache cache = SqliteHelperMain.getQueryCache();
+            assertEquals(1, cache.getHitCount(), "The second select should be a hit.");
+            assertEquals(0.5, cache.getHitRatio(), 0.001);
+
+            SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen B", 100.0, 5.0, 50.0);
+            assertEquals(2, SqliteHelperMain.select("Aggregate", "name", "fuel_cap > ?", 50.0).length,
+                    "The insert should invalidate the cached result.");
+        } finally {
+            SqliteHelperMain.disableQueryCache();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package de.fh.albsig.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigratorTest {
+    @BeforeEach
+    void setUp() {
+        TestDatabase.openFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestDatabase.reset();
+    }
+
+    @Test
+    void migratesToLatestVersion() {
+        // Test that the stored schema version matches the last migration
+        assertDoesNotThrow(() -> {
+            try (Connection connection = SqliteHelperMain.connect()) {
+                assertEquals(SchemaMigrator.latestVersion(), SchemaMigrator.currentVersion(connection));
+            }
+        });
+    }
+
+    @Test
+    void migrateIsIdempotent() {
+        // Test that running the migrator again applies nothing
+        assertDoesNotThrow(() -> {
+            try (Connection connection = SqliteHelperMain.connect()) {
+                assertEquals(0, SchemaMigrator.migrate(connection));
+            }
+        });
+    }
+
+    @Test
+    void nameLookupUsesIndex() {
+        // Test that an equality filter on name is answered through its index
+        assertTrue(queryPlan("SELECT name FROM Aggregate WHERE name = ?")
+                .contains("idx_aggregate_name"));
+    }
+
+    @Test
+    void fuelCapRangeUsesIndex() {
+        // Test that a range filter on fuel_cap is answered through its index
+        assertTrue(queryPlan("SELECT name, fuel_cap FROM Aggregate WHERE fuel_cap > ?")
+                .contains("idx_aggregate_fuel_cap"));
+    }
+
+    @Test
+    void powerOutputRangeUsesIndex() {
+        // Test that a range filter on power_output is answered through its index
+        assertTrue(queryPlan("SELECT name FROM Aggregate WHERE power_output >= ?")
+                .contains("idx_aggregate_power_output"));
+    }
+
+    private static String queryPlan(String query) {
+        StringBuilder plan = new StringBuilder();
+        assertDoesNotThrow(() -> {
+            try (Connection connection = SqliteHelperMain.connect();
+                 PreparedStatement stmt = connection.prepareStatement("EXPLAIN QUERY PLAN " + query)) {
+                stmt.setObject(1, 0);
+                try (ResultSet resultSet = stmt.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString("detail")).append('\n');
+                    }
+                }
+            }
+        });
+        return plan.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package de.fh.albsig.database;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlTemplatesTest {
+
+    @Test
+    void buildsStatements() {
+        // Test the SQL text of every statement kind
+        assertEquals("INSERT INTO Aggregate (name, fuel_cap) VALUES (?, ?)",
+                SqlTemplates.insert("Aggregate", "name, fuel_cap", 2));
+        assertEquals("UPDATE Aggregate SET fuel_cap = ? WHERE name = ?",
+                SqlTemplates.update("Aggregate", "fuel_cap = ?", "name = ?"));
+        assertEquals("DELETE FROM Aggregate WHERE id = ?",
+                SqlTemplates.delete("Aggregate", "id = ?"));
+        assertEquals("SELECT name FROM Aggregate", SqlTemplates.select("Aggregate", "name", null));
+        assertEquals("SELECT name FROM Aggregate WHERE fuel_cap > ? AND name LIKE 'Gen%'",
+                SqlTemplates.select("Aggregate", "name", "fuel_cap > ? AND name LIKE 'Gen%'"));
+    }
+
+    @Test
+    void reusesTemplates() {
+        // Test that the same shape returns the same string instance
+        String first = SqlTemplates.select("Aggregate", "name", "id = ?");
+        String second = SqlTemplates.select("Aggregate", "name", "id = ?");
+        assertSame(first, second, "Repeated shapes should reuse the cached SQL.");
+        assertSame(SqlTemplates.placeholders(3), SqlTemplates.placeholders(3));
+        assertEquals("?, ?, ?", SqlTemplates.placeholders(3));
+        assertEquals(99, SqlTemplates.placeholders(100).split(",").length - 1);
+    }
+
+    @Test
+    void rejectsUnknownIdentifiers() {
+        // Test that tables, columns and clauses outside the whitelist are refused
+        assertThrows(IllegalArgumentException.class, () -> SqlTemplates.select("Users", "name", null));
+        assertThrows(IllegalArgumentException.class, () -> SqlTemplates.select("Aggregate", "password", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> SqlTemplates.delete("Aggregate", "1 = 1; DROP TABLE Aggregate"));
+        assertThrows(IllegalArgumentException.class,
+                () -> SqlTemplates.update("Aggregate", "name = ?", "id = ? -- comment"));
+        assertThrows(IllegalArgumentException.class,
+                () -> SqlTemplates.insert("Aggregate; DROP TABLE Aggregate", "name", 1));
+    }
+
+    @Test
+    void acceptsAggregatesAndAliases() {
+        // Test that simple aggregates and aliases over known columns are allowed
+        assertEquals("SELECT COUNT(*) FROM Aggregate", SqlTemplates.select("Aggregate", "COUNT(*)", null));
+        assertEquals("SELECT MAX(power_output), name AS n FROM Aggregate WHERE fuel_cap > ?",
+                SqlTemplates.select("Aggregate", "MAX(power_output), name AS n", "fuel_cap > ?"));
+        assertThrows(IllegalArgumentException.class,
+                () -> SqlTemplates.select("Aggregate", "MAX(password)", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> SqlTemplates.select("Aggregate", "SUM(*)", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> SqlTemplates.select("Aggregate", "load_extension(name)", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> SqlTemplates.select("Aggregate", "name AS n; DROP TABLE Aggregate", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> SqlTemplates.insert("Aggregate", "name AS n", 1));
+    }
+
+    @Test
+    void cacheIsBounded() {
+        // Test that clauses with inlined literals do not grow the cache past its limit
+        for (int i = 0; i < SqlTemplates.MAX_TEMPLATES * 2; i++) {
+            SqlTemplates.select("Aggregate", "name", "fuel_cap > " + i);
+        }
+        assertTrue(SqlTemplates.cachedTemplates() <= SqlTemplates.MAX_TEMPLATES);
+        assertEquals("SELECT name FROM Aggregate WHERE fuel_cap > 0",
+                SqlTemplates.select("Aggregate", "name", "fuel_cap > 0"));
+    }
+}
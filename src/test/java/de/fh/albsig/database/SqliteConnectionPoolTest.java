@@ -0,0 +1,56 @@
+package de.fh.albsig.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqliteConnectionPoolTest {
+    @TempDir
+    Path tempDir;
+
+    private SqliteConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new SqliteConnectionPool("jdbc:sqlite:" + tempDir.resolve("pool.db"), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void repeatedReleaseIsIgnored() throws Exception {
+        // Test that closing a handle twice does not let two borrowers share one connection
+        PooledConnection pooled = pool.borrow();
+        pooled.close();
+        pooled.close();
+
+        try (PooledConnection first = pool.borrow(); PooledConnection second = pool.borrow()) {
+            assertNotSame(first.getConnection(), second.getConnection());
+        }
+    }
+
+    @Test
+    void releaseRollsBackOpenTransaction() throws Exception {
+        // Test that a connection returned mid-transaction is rolled back and back in autocommit mode
+        try (PooledConnection pooled = pool.borrow();
+             Statement stmt = pooled.getConnection().createStatement()) {
+            stmt.execute("CREATE TABLE Notes (text TEXT)");
+            pooled.getConnection().setAutoCommit(false);
+            stmt.execute("INSERT INTO Notes VALUES ('lost')");
+        }
+
+        try (PooledConnection pooled = pool.borrow();
+             Statement stmt = pooled.getConnection().createStatement()) {
+            assertTrue(pooled.getConnection().getAutoCommit());
+            assertFalse(stmt.executeQuery("SELECT text FROM Notes").next());
+        }
+    }
+}
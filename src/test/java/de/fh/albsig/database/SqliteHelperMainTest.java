@@ -6,6 +6,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.io.File;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -31,6 +37,10 @@ class SqliteHelperMainTest {
 
     @AfterEach
     void tearDown() {
+        // Restore the pool size a test may have changed, even if its assertions failed
+        SqliteHelperMain.configurePool(SqliteConnectionPool.DEFAULT_POOL_SIZE);
+        // Close pooled connections so the database file can be deleted
+        SqliteHelperMain.shutdown();
         // Delete the database file after each test to ensure a clean slate
         File dbFile = new File(DATABASE_FILE);
         if (dbFile.exists() && dbFile.delete()) {
@@ -76,6 +86,43 @@ class SqliteHelperMainTest {
         });
     }
 
+    @Test
+    void selectSupportsAggregatesAndAliases() {
+        // Test that aggregate columns reach the database instead of being rejected by the whitelist
+        SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Small", 50.0, 2.0, 20.0);
+        SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Large", 200.0, 9.0, 80.0);
+
+        Object[][] results = SqliteHelperMain.select("Aggregate", "COUNT(*) AS n, MAX(power_output)", null);
+
+        assertEquals(1, results.length);
+        assertEquals(2, ((Number) results[0][0]).intValue());
+        assertEquals(80.0, ((Number) results[0][1]).doubleValue());
+    }
+
+    @Test
+    void poolReusesConnections() {
+        // Test that repeated calls share the pooled connections instead of opening new ones
+        SqliteHelperMain.configurePool(2);
+        for (int i = 0; i < 10; i++) {
+            SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen " + i, 100.0, 5.0, 50.0);
+        }
+        assertTrue(SqliteHelperMain.pool().getOpenCount() <= 2, "The pool should not exceed its size.");
+        assertEquals(10, SqliteHelperMain.select("Aggregate", "name", null).length);
+    }
+
+    @Test
+    void statementCacheReusesStatements() {
+        // Test that identical queries are served from the statement cache
+        SqliteHelperMain.configurePool(1);
+        SqliteHelperMain.select("Aggregate", "name", "name = ?", "A");
+        long misses = SqliteHelperMain.pool().getStatementCacheMisses();
+        for (int i = 0; i < 5; i++) {
+            SqliteHelperMain.select("Aggregate", "name", "name = ?", "A");
+        }
+        assertEquals(misses, SqliteHelperMain.pool().getStatementCacheMisses(), "No new statements should be prepared.");
+        assertTrue(SqliteHelperMain.pool().getStatementCacheHits() >= 5, "Repeated selects should hit the cache.");
+    }
+
     @Test
     void select() {
         // Test the select method
@@ -153,4 +200,187 @@ class SqliteHelperMainTest {
             connection.close();
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void insertBatch() {
+        // Test that a batch spanning several chunks is inserted completely
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            rows.add(new Object[]{"Gen " + i, 100.0, 5.0, 50.0});
+        }
+        int inserted = SqliteHelperMain.insertBatch("Aggregate", "name, fuel_cap, consumption, power_output", rows, 100);
+
+        assertEquals(250, inserted, "All rows should be inserted.");
+        assertEquals(250, SqliteHelperMain.select("Aggregate", "id", null).length);
+    }
+
+    @Test
+    void insertBatchRollsBackOnFailure() {
+        // Test that a failing row rolls back the rows before it
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"Gen A", 100.0, 5.0, 50.0});
+        rows.add(new Object[]{null, 100.0, 5.0, 50.0}); // violates NOT NULL on name
+        int inserted = SqliteHelperMain.insertBatch("Aggregate", "name, fuel_cap, consumption, power_output", rows);
+
+        assertEquals(0, inserted, "A failed batch should report no rows.");
+        assertEquals(0, SqliteHelperMain.select("Aggregate", "id", null).length, "No row should be committed.");
+    }
+
+    @Test
+    void insertBatchAfterFailedBatchDoesNotResendRows() {
+        // Test that rows queued before a failure are not sent with the next batch
+        List<Object[]> failing = new ArrayList<>();
+        failing.add(new Object[]{"Gen A", 100.0, 5.0, 50.0});
+        failing.add(new Object[]{"Gen B", 100.0, 5.0, 50.0});
+        failing.add(new Object[]{null, 100.0, 5.0, 50.0}); // violates NOT NULL on name
+        assertEquals(0, SqliteHelperMain.insertBatch("Aggregate", "name, fuel_cap, consumption, power_output", failing));
+
+        List<Object[]> good = new ArrayList<>();
+        good.add(new Object[]{"Gen C", 100.0, 5.0, 50.0});
+        int inserted = SqliteHelperMain.insertBatch("Aggregate", "name, fuel_cap, consumption, power_output", good);
+
+        assertEquals(1, inserted, "Only the new row should be inserted.");
+        Object[][] names = SqliteHelperMain.select("Aggregate", "name", null);
+        assertEquals(1, names.length);
+        assertEquals("Gen C", names[0][0]);
+    }
+
+    @Test
+    void insertBatchRejectsRowsOfDifferentLength() {
+        // Test that a shorter row does not reuse the values bound for the row before it
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"Gen A", 100.0, 5.0, 50.0});
+        rows.add(new Object[]{"Gen B", 100.0, 5.0});
+        assertThrows(SQLException.class, () -> SqliteHelperMain.insertBatchOrThrow(
+                "Aggregate", "name, fuel_cap, consumption, power_output", rows, 100));
+
+        assertEquals(0, SqliteHelperMain.select("Aggregate", "id", null).length, "No row should be committed.");
+    }
+
+    @Test
+    void insertBatchRestoresAutoCommitWhenPrepareFails() throws Exception {
+        // Test that a statement failing to prepare does not leave the pooled connection inside a transaction
+        SqliteHelperMain.configurePool(1);
+        try (PooledConnection pooled = SqliteHelperMain.pool().borrow();
+             Statement stmt = pooled.getConnection().createStatement()) {
+            stmt.execute("DROP TABLE Aggregate");
+        }
+        assertEquals(0, SqliteHelperMain.insertBatch("Aggregate", "name, fuel_cap, consumption, power_output",
+                List.<Object[]>of(new Object[]{"Gen A", 100.0, 5.0, 50.0})));
+
+        try (PooledConnection pooled = SqliteHelperMain.pool().borrow()) {
+            assertTrue(pooled.getConnection().getAutoCommit(), "Autocommit should be restored.");
+        }
+    }
+
+    @Test
+    void statementCacheDropsRowsOfAbandonedBatch() throws Exception {
+        // Test that a reused statement does not keep rows of a batch that failed before executeBatch
+        String sql = SqlTemplates.insert("Aggregate", "name, fuel_cap, consumption, power_output", 4);
+        try (Connection conn = SqliteHelperMain.connect()) {
+            StatementCache cache = new StatementCache(conn, 4);
+            PreparedStatement failed = cache.prepare(sql);
+            SqliteHelperMain.setParameters(failed, "Gen A", 100.0, 5.0, 50.0);
+            failed.addBatch();
+            SqliteHelperMain.setParameters(failed, "Gen B", 100.0, 5.0, 50.0);
+            failed.addBatch();
+
+            PreparedStatement reused = cache.prepare(sql);
+            SqliteHelperMain.setParameters(reused, "Gen C", 100.0, 5.0, 50.0);
+            reused.addBatch();
+
+            assertSame(failed, reused);
+            assertEquals(1, reused.executeBatch().length, "Only the new row should be sent.");
+            cache.clear();
+        }
+        assertEquals(1, SqliteHelperMain.select("Aggregate", "id", null).length);
+    }
+
+    @Test
+    void unknownIdentifiersAreLoggedNotThrown() {
+        // Test that statements outside the whitelist fail like other statements: logged, with an empty result
+        assertDoesNotThrow(() -> SqliteHelperMain.insert("Missing", "name", "Gen A"));
+        assertDoesNotThrow(() -> SqliteHelperMain.update("Aggregate", "colour = ?", "name = ?", "red", "Gen A"));
+        assertDoesNotThrow(() -> SqliteHelperMain.delete("Missing", "id = ?", 1));
+        assertEquals(0, SqliteHelperMain.select("Missing", "name", null).length);
+        assertTrue(SqliteHelperMain.selectAggregates("colour = ?", "red").isEmpty());
+        assertEquals(0, SqliteHelperMain.selectDoubleColumn("Aggregate", "colour", null).length);
+        assertEquals(0, SqliteHelperMain.insertBatch("Missing", "name", List.<Object[]>of(new Object[]{"Gen A"})));
+        assertThrows(SQLException.class, () -> SqliteHelperMain.selectOrThrow("Missing", "name", null));
+    }
+
+    @Test
+    void updateBatch() {
+        // Test the batch update method
+        SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen A", 100.0, 5.0, 50.0);
+        SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen B", 100.0, 5.0, 50.0);
+        List<Object[]> rows = List.of(new Object[]{150.0, "Gen A"}, new Object[]{200.0, "Gen B"});
+        int updated = SqliteHelperMain.updateBatch("Aggregate", "fuel_cap = ?", "name = ?", rows);
+
+        assertEquals(2, updated, "Both rows should be updated.");
+        assertEquals(200.0, SqliteHelperMain.select("Aggregate", "fuel_cap", "name = ?", "Gen B")[0][0]);
+    }
+
+    @Test
+    void selectEach() {
+        // Test that the callback sees every matching row
+        SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen A", 100.0, 5.0, 50.0);
+        SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen B", 40.0, 5.0, 50.0);
+        List<String> names = new ArrayList<>();
+        int count = SqliteHelperMain.selectEach("Aggregate", "name, fuel_cap", "fuel_cap > ?",
+                row -> names.add(row.getString(0)), 50.0);
+
+        assertEquals(1, count);
+        assertEquals(List.of("Gen A"), names);
+    }
+
+    @Test
+    void stream() {
+        // Test that the stream reads all rows and returns its connection when closed
+        SqliteHelperMain.configurePool(1);
+        SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen A", 100.0, 5.0, 50.0);
+        SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen B", 40.0, 5.0, 50.0);
+        double totalFuel;
+        try (Stream<Row> rows = SqliteHelperMain.stream("Aggregate", "fuel_cap", null)) {
+            totalFuel = rows.mapToDouble(row -> row.getDouble(0)).sum();
+        }
+        assertEquals(140.0, totalFuel, 0.001);
+        // The single pooled connection must be free again
+        assertEquals(2, SqliteHelperMain.select("Aggregate", "id", null).length);
+    }
+
+    @Test
+    void selectAggregates() {
+        // Test that rows are mapped straight into Aggregate records
+        SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen A", 100.0, 5.0, 50.0);
+        List<Aggregate> aggregates = SqliteHelperMain.selectAggregates("name = ?", "Gen A");
+
+        assertEquals(List.of(new Aggregate("Gen A", 100.0, 5.0, 50.0)), aggregates);
+    }
+
+    @Test
+    void selectDoubleColumn() {
+        // Test that a numeric column is read into a primitive array
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(new Object[]{"Gen " + i, (double) i, 5.0, 50.0});
+        }
+        SqliteHelperMain.insertBatch("Aggregate", "name, fuel_cap, consumption, power_output", rows);
+        double[] fuelCaps = SqliteHelperMain.selectDoubleColumn("Aggregate", "fuel_cap", "fuel_cap >= ?", 90.0);
+
+        assertArrayEquals(new double[]{90, 91, 92, 93, 94, 95, 96, 97, 98, 99}, fuelCaps);
+    }
+
+    @Test
+    void tunedProfileEnablesWal() {
+        // Test that pooled connections are opened with the tuned pragmas
+        assertDoesNotThrow(() -> {
+            try (PooledConnection pooled = SqliteHelperMain.pool().borrow();
+                 var stmt = pooled.getConnection().createStatement();
+                 var resultSet = stmt.executeQuery("PRAGMA journal_mode")) {
+                assertTrue(resultSet.next());
+                assertEquals("wal", resultSet.getString(1));
+            }
+        });
+    }
+}
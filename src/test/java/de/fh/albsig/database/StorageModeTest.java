@@ -0,0 +1,101 @@
+package de.fh.albsig.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.io.File;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageModeTest {
+    private static final String SNAPSHOT_FILE = "snapshot_test.db";
+
+    @AfterEach
+    void tearDown() {
+        TestDatabase.reset(SNAPSHOT_FILE);
+    }
+
+    @Test
+    void memoryModeDoesNotTouchDisk() {
+        // Test that the in-memory backend works without creating a database file
+        SqliteHelperMain.configureStorage(StorageMode.MEMORY, SNAPSHOT_FILE);
+        SqliteHelperMain.initializeDatabase();
+        SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen A", 100.0, 5.0, 50.0);
+
+        assertEquals(1, SqliteHelperMain.select("Aggregate", "name", null).length);
+        assertFalse(new File(SNAPSHOT_FILE).exists(), "Memory mode must not create a file.");
+        assertFalse(new File(TestDatabase.DATABASE_FILE).exists(), "Memory mode must not create the default file.");
+    }
+
+    @Test
+    void memoryModeAllowsConcurrentReadsAndWrites() {
+        // Test that readers and a writer on the pooled in-memory database wait for locks instead of failing
+        SqliteHelperMain.configureStorage(StorageMode.MEMORY, SNAPSHOT_FILE);
+        SqliteHelperMain.initializeDatabase();
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            tasks.add(threads.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    SqliteHelperMain.insertOrThrow("Aggregate", "name, fuel_cap, consumption, power_output",
+                            "Gen " + i, 100.0, 5.0, 50.0);
+                }
+                return null;
+            }));
+            for (int reader = 0; reader < 3; reader++) {
+                tasks.add(threads.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        SqliteHelperMain.selectOrThrow("Aggregate", "name, fuel_cap", null);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                assertDoesNotThrow(() -> task.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertEquals(200, SqliteHelperMain.select("Aggregate", "id", null).length);
+    }
+
+    @Test
+    void memoryDatabaseIsPrivateToItsPool() throws Exception {
+        // Test that a new in-memory pool does not see the rows of the snapshot database
+        SqliteHelperMain.configureStorage(StorageMode.SNAPSHOT, SNAPSHOT_FILE);
+        SqliteHelperMain.initializeDatabase();
+        SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen A", 100.0, 5.0, 50.0);
+        // Keep a connection of the snapshot pool open so its database stays alive
+        try (PooledConnection snapshotConnection = SqliteHelperMain.pool().borrow()) {
+            SqliteHelperMain.configureStorage(StorageMode.MEMORY, SNAPSHOT_FILE);
+            SqliteHelperMain.initializeDatabase();
+
+            assertEquals(0, SqliteHelperMain.select("Aggregate", "id", null).length);
+            try (ResultSet rs = snapshotConnection.getConnection().createStatement()
+                    .executeQuery("SELECT name FROM Aggregate")) {
+                assertTrue(rs.next());
+                assertEquals("Gen A", rs.getString(1));
+            }
+        }
+    }
+
+    @Test
+    void snapshotIsRestoredAfterRestart() {
+        // Test that data written in snapshot mode survives a shutdown and restart
+        SqliteHelperMain.configureStorage(StorageMode.SNAPSHOT, SNAPSHOT_FILE);
+        SqliteHelperMain.initializeDatabase();
+        SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen A", 100.0, 5.0, 50.0);
+        SqliteHelperMain.shutdown();
+        assertTrue(new File(SNAPSHOT_FILE).length() > 0, "Shutdown should write the snapshot.");
+
+        SqliteHelperMain.initializeDatabase();
+        assertEquals(1, SqliteHelperMain.selectAggregates("name = ?", "Gen A").size());
+    }
+}
@@ -0,0 +1,56 @@
+package de.fh.albsig.database;
+
+import java.io.File;
+
+/**
+ * Shared set-up and clean-up of the database for tests.
+ */
+public final class TestDatabase {
+
+    /** The default database file. */
+    public static final String DATABASE_FILE = "local_database.db";
+
+    private TestDatabase() {
+    }
+
+    /**
+     * Creates and migrates the default database file.
+     */
+    public static void openFile() {
+        SqliteHelperMain.ensureDatabaseFileExists();
+        SqliteHelperMain.initializeDatabase();
+    }
+
+    /**
+     * Switches to the in-memory backend, so nothing is written to disk.
+     */
+    public static void openInMemory() {
+        SqliteHelperMain.configureStorage(StorageMode.MEMORY, DATABASE_FILE);
+        SqliteHelperMain.initializeDatabase();
+    }
+
+    /**
+     * Stops the async workers, switches back to file storage, closes all
+     * pooled connections and deletes the database with its WAL files.
+     *
+     * @param extraFiles further files the test wrote
+     */
+    public static void reset(String... extraFiles) {
+        AsyncDatabase.shutdown();
+        SqliteHelperMain.configureStorage(StorageMode.FILE, DATABASE_FILE);
+        SqliteHelperMain.shutdown();
+        delete(DATABASE_FILE);
+        delete(DATABASE_FILE + "-wal");
+        delete(DATABASE_FILE + "-shm");
+        for (String name : extraFiles) {
+            delete(name);
+        }
+    }
+
+    private static void delete(String name) {
+        File file = new File(name);
+        if (file.exists() && !file.delete()) {
+            System.err.println("Test file could not be deleted: " + name);
+        }
+    }
+}
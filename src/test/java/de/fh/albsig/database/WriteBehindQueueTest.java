@@ -0,0 +1,160 @@
+package de.fh.albsig.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindQueueTest {
+    @BeforeEach
+    void setUp() {
+        TestDatabase.openFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Also closes the write-behind queue a failed test may have left enabled
+        TestDatabase.reset();
+    }
+
+    @Test
+    void writeBehindCommitsOnFlush() {
+        // Test that queued mutations are visible after a flush
+        SqliteHelperMain.enableWriteBehind(new WriteBehindQueue.Config(16, 8, 1_000, WriteBehindQueue.Durability.BUFFERED));
+        try {
+            for (int i = 0; i < 50; i++) {
+                SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen " + i, 100.0, 5.0, 50.0);
+            }
+            SqliteHelperMain.delete("Aggregate", "name = ?", "Gen 0");
+            SqliteHelperMain.flush();
+
+            assertEquals(49, SqliteHelperMain.select("Aggregate", "id", null).length);
+        } finally {
+            SqliteHelperMain.disableWriteBehind();
+        }
+    }
+
+    @Test
+    void writeBehindCommittedDurability() {
+        // Test that COMMITTED durability makes a mutation visible as soon as insert returns
+        SqliteHelperMain.enableWriteBehind(new WriteBehindQueue.Config(16, 8, 10, WriteBehindQueue.Durability.COMMITTED));
+        try {
+            SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen A", 100.0, 5.0, 50.0);
+
+            assertEquals(1, SqliteHelperMain.select("Aggregate", "id", "name = ?", "Gen A").length);
+        } finally {
+            SqliteHelperMain.disableWriteBehind();
+        }
+    }
+
+    @Test
+    void writeBehindCommittedDurabilityReportsFailure() {
+        // Test that COMMITTED durability hands a failed commit back to the caller
+        SqliteHelperMain.enableWriteBehind(new WriteBehindQueue.Config(16, 8, 10, WriteBehindQueue.Durability.COMMITTED));
+        try {
+            assertThrows(SQLException.class, () -> SqliteHelperMain.insertOrThrow(
+                    "Aggregate", "name, fuel_cap, consumption, power_output", null, 100.0, 5.0, 50.0));
+        } finally {
+            SqliteHelperMain.disableWriteBehind();
+        }
+    }
+
+    @Test
+    void writeBehindCommittedDurabilityReportsInterrupt() throws Exception {
+        // Test that an interrupted COMMITTED caller is not told its mutation was committed
+        WriteBehindQueue queue = new WriteBehindQueue(new WriteBehindQueue.Config(16, 8, 60_000, WriteBehindQueue.Durability.COMMITTED));
+        try {
+            AtomicReference<Throwable> outcome = new AtomicReference<>();
+            Thread caller = new Thread(() -> {
+                try {
+                    queue.submit("Aggregate",
+                            "INSERT INTO Aggregate (name, fuel_cap, consumption, power_output) VALUES (?, ?, ?, ?)",
+                            "Gen A", 100.0, 5.0, 50.0);
+                } catch (Throwable e) {
+                    outcome.set(e);
+                }
+            });
+            caller.start();
+            // The committer holds the mutation for the flush interval, so the caller parks in await
+            while (caller.getState() != Thread.State.WAITING && caller.isAlive()) {
+                Thread.sleep(5);
+            }
+            caller.interrupt();
+            caller.join(5_000);
+
+            assertTrue(outcome.get() instanceof SQLException, "Expected an SQLException but got " + outcome.get());
+        } finally {
+            queue.close();
+        }
+    }
+
+    @Test
+    void writeBehindRejectsSubmitAfterClose() {
+        // Test that a closed queue refuses mutations instead of parking them where nothing commits them
+        WriteBehindQueue queue = new WriteBehindQueue(new WriteBehindQueue.Config(16, 8, 10, WriteBehindQueue.Durability.COMMITTED));
+        queue.close();
+
+        assertThrows(IllegalStateException.class, () -> queue.submit("Aggregate",
+                "INSERT INTO Aggregate (name, fuel_cap, consumption, power_output) VALUES (?, ?, ?, ?)",
+                "Gen A", 100.0, 5.0, 50.0));
+        assertDoesNotThrow(queue::flush);
+    }
+
+    @Test
+    void batchesRunAfterQueuedMutations() {
+        // Test that a batch update sees a row that is still waiting in the write-behind queue
+        SqliteHelperMain.enableWriteBehind(new WriteBehindQueue.Config(16, 8, 60_000, WriteBehindQueue.Durability.BUFFERED));
+        try {
+            SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen A", 100.0, 5.0, 50.0);
+
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[]{150.0, "Gen A"});
+            assertEquals(1, SqliteHelperMain.updateBatch("Aggregate", "fuel_cap = ?", "name = ?", rows));
+        } finally {
+            SqliteHelperMain.disableWriteBehind();
+        }
+        assertEquals(150.0, SqliteHelperMain.selectAggregates("name = ?", "Gen A").get(0).fuelCap());
+    }
+
+    @Test
+    void writeBehindCopiesSubmittedValues() {
+        // Test that reusing the values array after submit does not change the queued mutation
+        WriteBehindQueue queue = new WriteBehindQueue(new WriteBehindQueue.Config(16, 8, 60_000, WriteBehindQueue.Durability.BUFFERED));
+        try {
+            Object[] values = {"Gen A", 100.0, 5.0, 50.0};
+            assertDoesNotThrow(() -> queue.submit("Aggregate",
+                    "INSERT INTO Aggregate (name, fuel_cap, consumption, power_output) VALUES (?, ?, ?, ?)", values));
+            values[0] = "Gen B";
+            queue.flush();
+        } finally {
+            queue.close();
+        }
+        assertEquals(1, SqliteHelperMain.selectAggregates("name = ?", "Gen A").size());
+        assertTrue(SqliteHelperMain.selectAggregates("name = ?", "Gen B").isEmpty());
+    }
+
+    @Test
+    void configureStorageCommitsQueuedMutationsFirst() throws Exception {
+        // Test that a mutation still queued when the storage changes lands in the old database
+        SqliteHelperMain.enableWriteBehind(new WriteBehindQueue.Config(16, 8, 60_000, WriteBehindQueue.Durability.BUFFERED));
+        SqliteHelperMain.insert("Aggregate", "name, fuel_cap, consumption, power_output", "Gen A", 100.0, 5.0, 50.0);
+
+        SqliteHelperMain.configureStorage(StorageMode.MEMORY, TestDatabase.DATABASE_FILE);
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + TestDatabase.DATABASE_FILE);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT name FROM Aggregate")) {
+            assertTrue(rs.next(), "The queued insert should be committed to the file.");
+            assertEquals("Gen A", rs.getString(1));
+        }
+    }
+}
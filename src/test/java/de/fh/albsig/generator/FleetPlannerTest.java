@@ -0,0 +1,98 @@
+package de.fh.albsig.generator;
+
+import de.fh.albsig.database.Aggregate;
+import de.fh.albsig.database.SqliteHelperMain;
+import de.fh.albsig.database.TestDatabase;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FleetPlannerTest {
+
+    private final FleetPlanner planner = new FleetPlanner();
+
+    private final GeneratorFleet fleet = new GeneratorFleet(
+            new String[]{"Gen A", "Gen B"},
+            new double[]{100.0, 50.0},
+            new double[]{10.0, 10.0},
+            new double[]{50.0, 50.0});
+
+    @Test
+    void computeRuntimes() {
+        // Test runtime = fuel_cap / (consumption * loadFraction)
+        double[] runtimes = planner.computeRuntimes(fleet, 0.5);
+        assertEquals(20.0, runtimes[0], 0.001);
+        assertEquals(10.0, runtimes[1], 0.001);
+        assertEquals(Double.POSITIVE_INFINITY, planner.computeRuntimes(fleet, 0.0)[0]);
+        assertThrows(IllegalArgumentException.class, () -> planner.computeRuntimes(fleet, 1.5));
+    }
+
+    @Test
+    void planSchedulesRefuels() {
+        // Test that the smaller tank is refuelled when it runs dry after 10 hours
+        FleetPlan plan = planner.plan(fleet, LoadProfile.constant(50.0, 12.0));
+
+        assertEquals(1, plan.refuels().size(), "Only Gen B should need a refuel.");
+        assertEquals("Gen B", plan.refuels().get(0).name());
+        assertEquals(10.0, plan.refuels().get(0).atHours(), 0.001);
+        assertEquals(120.0, plan.fuelLitres(), 0.001);
+        assertEquals(0, plan.overloadedSteps());
+    }
+
+    @Test
+    void planChecksRedundancy() {
+        // Test N+1: losing one 50 kW unit leaves 50 kW for the peak load
+        assertTrue(planner.plan(fleet, new LoadProfile(new double[]{20.0, 50.0}, 1.0)).isRedundant());
+        FleetPlan plan = planner.plan(fleet, new LoadProfile(new double[]{60.0, 120.0}, 1.0));
+        assertFalse(plan.isRedundant(), "60 kW of peak load exceed the redundant capacity.");
+        assertEquals(-70.0, plan.redundancyMarginKw(), 0.001);
+        assertEquals(1, plan.overloadedSteps());
+    }
+
+    @Test
+    void loadFromDatabase() {
+        // Test that the fleet is loaded from the Aggregate table in one pass
+        TestDatabase.openInMemory();
+        try {
+            SqliteHelperMain.insert(Aggregate.TABLE, Aggregate.COLUMNS, "Gen A", 100.0, 10.0, 50.0);
+            SqliteHelperMain.insert(Aggregate.TABLE, Aggregate.COLUMNS, "Gen B", 50.0, 10.0, 75.0);
+
+            GeneratorFleet loaded = GeneratorFleet.load();
+            assertEquals(2, loaded.size());
+            assertEquals(125.0, loaded.totalPower(), 0.001);
+            assertEquals(75.0, loaded.largestUnitPower(), 0.001);
+            assertEquals(2, GeneratorFleet.of(SqliteHelperMain.selectAggregates(null)).size());
+
+            GeneratorFleet filtered = GeneratorFleet.load("power_output > ?", 60.0);
+            assertEquals(1, filtered.size());
+            assertEquals("Gen B", filtered.nameOf(0));
+            assertEquals(50.0, filtered.fuelCapOf(0), 0.001);
+            assertEquals(10.0, filtered.consumptionOf(0), 0.001);
+        } finally {
+            TestDatabase.reset();
+        }
+    }
+
+    @Test
+    void rejectsMismatchedArrays() {
+        // Test that the column arrays must line up
+        assertThrows(IllegalArgumentException.class, () -> new GeneratorFleet(
+                new String[]{"A"}, new double[]{1.0}, new double[0], new double[]{1.0}));
+        assertThrows(IllegalArgumentException.class, () -> new LoadProfile(new double[]{-1.0}, 1.0));
+        assertEquals(0, GeneratorFleet.of(List.of()).size());
+    }
+
+    @Test
+    void loadProfilesCompareBySamples() {
+        // Test that two profiles with equal samples are equal although their arrays differ
+        LoadProfile first = new LoadProfile(new double[]{20.0, 50.0}, 1.0);
+        LoadProfile second = new LoadProfile(new double[]{20.0, 50.0}, 1.0);
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, new LoadProfile(new double[]{20.0, 60.0}, 1.0));
+        assertNotEquals(first, new LoadProfile(new double[]{20.0, 50.0}, 0.5));
+        assertTrue(first.toString().contains("[20.0, 50.0]"));
+    }
+}